@@ -0,0 +1,284 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * Reports execution events to the {@link EngineExecutionListener} of the platform on a dedicated thread so that slow
+ * listeners don't hold up the threads executing tests.
+ * <p>
+ * Events are put into a bounded ring buffer whose slots are allocated up front. Producers claim slots with atomic
+ * operations and a single dispatcher thread reports them in the order they were claimed, thereby retaining the order
+ * of the events of every test descriptor. When the buffer is full, producers wait for the dispatcher unless the
+ * backpressure mode is {@code dropReportEntries}, in which case reporting entries are dropped instead.
+ */
+class AsyncReporting {
+
+	static final String ENABLED_PARAMETER = "testng.reporting.async.enabled";
+	static final String BUFFER_SIZE_PARAMETER = "testng.reporting.async.bufferSize";
+	static final String BACKPRESSURE_PARAMETER = "testng.reporting.async.backpressure";
+	static final int DEFAULT_BUFFER_SIZE = 1024;
+
+	static final AsyncReporting DISABLED = new AsyncReporting(0, Backpressure.BLOCK);
+
+	private static final long PARK_NANOS = 100_000;
+
+	enum Backpressure {
+		BLOCK, DROP_REPORT_ENTRIES
+	}
+
+	private final int bufferSize;
+	private final Backpressure backpressure;
+	private Dispatcher dispatcher;
+
+	static AsyncReporting from(ConfigurationParameters config) {
+		if (config.getBoolean(ENABLED_PARAMETER).orElse(false)) {
+			int bufferSize = config.get(BUFFER_SIZE_PARAMETER, Integer::parseInt).orElse(DEFAULT_BUFFER_SIZE);
+			if (bufferSize <= 0) {
+				throw new IllegalArgumentException(
+					"Unsupported value for " + BUFFER_SIZE_PARAMETER + ": " + bufferSize);
+			}
+			Backpressure backpressure = config.get(BACKPRESSURE_PARAMETER).map(String::trim).map(
+				AsyncReporting::toBackpressure).orElse(Backpressure.BLOCK);
+			return new AsyncReporting(bufferSize, backpressure);
+		}
+		return DISABLED;
+	}
+
+	private static Backpressure toBackpressure(String value) {
+		switch (value.toLowerCase(Locale.ROOT)) {
+			case "block":
+				return Backpressure.BLOCK;
+			case "dropreportentries":
+				return Backpressure.DROP_REPORT_ENTRIES;
+			default:
+				throw new IllegalArgumentException("Unsupported value for " + BACKPRESSURE_PARAMETER + ": " + value);
+		}
+	}
+
+	private AsyncReporting(int bufferSize, Backpressure backpressure) {
+		this.bufferSize = bufferSize;
+		this.backpressure = backpressure;
+	}
+
+	EngineExecutionListener dispatchAsynchronously(EngineExecutionListener delegate) {
+		if (this == DISABLED) {
+			return delegate;
+		}
+		dispatcher = new Dispatcher(delegate, bufferSize, backpressure);
+		dispatcher.thread.start();
+		return dispatcher;
+	}
+
+	/**
+	 * Wait for all events to be reported and stop the dispatcher thread.
+	 */
+	void awaitCompletion() {
+		if (dispatcher != null) {
+			dispatcher.close();
+		}
+	}
+
+	private static class Dispatcher implements EngineExecutionListener, Runnable {
+
+		private static final int DYNAMIC_TEST_REGISTERED = 0;
+		private static final int EXECUTION_SKIPPED = 1;
+		private static final int EXECUTION_STARTED = 2;
+		private static final int EXECUTION_FINISHED = 3;
+		private static final int REPORTING_ENTRY_PUBLISHED = 4;
+
+		private final EngineExecutionListener delegate;
+		private final Backpressure backpressure;
+		private final Slot[] slots;
+		private final int mask;
+		private final AtomicLong tail = new AtomicLong();
+		private final Thread thread;
+		private long head;
+		private volatile boolean dispatcherWaiting;
+		private volatile boolean closed;
+		private Throwable failure;
+
+		Dispatcher(EngineExecutionListener delegate, int bufferSize, Backpressure backpressure) {
+			this.delegate = delegate;
+			this.backpressure = backpressure;
+			int capacity = Integer.highestOneBit(Math.min(bufferSize, 1 << 30));
+			capacity = capacity < bufferSize ? capacity << 1 : capacity;
+			this.slots = new Slot[capacity];
+			for (int i = 0; i < capacity; i++) {
+				slots[i] = new Slot(i);
+			}
+			this.mask = capacity - 1;
+			this.thread = new Thread(this, "testng-engine-reporting");
+			this.thread.setDaemon(true);
+		}
+
+		@Override
+		public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+			publish(DYNAMIC_TEST_REGISTERED, testDescriptor, null);
+		}
+
+		@Override
+		public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+			publish(EXECUTION_SKIPPED, testDescriptor, reason);
+		}
+
+		@Override
+		public void executionStarted(TestDescriptor testDescriptor) {
+			publish(EXECUTION_STARTED, testDescriptor, null);
+		}
+
+		@Override
+		public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+			publish(EXECUTION_FINISHED, testDescriptor, testExecutionResult);
+		}
+
+		@Override
+		public void reportingEntryPublished(TestDescriptor testDescriptor, ReportEntry entry) {
+			if (backpressure == Backpressure.DROP_REPORT_ENTRIES) {
+				tryPublish(REPORTING_ENTRY_PUBLISHED, testDescriptor, entry);
+			}
+			else {
+				publish(REPORTING_ENTRY_PUBLISHED, testDescriptor, entry);
+			}
+		}
+
+		private void publish(int type, TestDescriptor testDescriptor, Object payload) {
+			long sequence = tail.getAndIncrement();
+			Slot slot = slots[(int) sequence & mask];
+			while (slot.sequence != sequence) {
+				LockSupport.parkNanos(this, PARK_NANOS);
+			}
+			fill(slot, sequence, type, testDescriptor, payload);
+		}
+
+		private void tryPublish(int type, TestDescriptor testDescriptor, Object payload) {
+			while (true) {
+				long sequence = tail.get();
+				Slot slot = slots[(int) sequence & mask];
+				if (slot.sequence != sequence) {
+					return;
+				}
+				if (tail.compareAndSet(sequence, sequence + 1)) {
+					fill(slot, sequence, type, testDescriptor, payload);
+					return;
+				}
+			}
+		}
+
+		private void fill(Slot slot, long sequence, int type, TestDescriptor testDescriptor, Object payload) {
+			slot.type = type;
+			slot.testDescriptor = testDescriptor;
+			slot.payload = payload;
+			slot.sequence = sequence + 1;
+			if (dispatcherWaiting) {
+				LockSupport.unpark(thread);
+			}
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				Slot slot = slots[(int) head & mask];
+				if (slot.sequence == head + 1) {
+					dispatch(slot);
+					slot.testDescriptor = null;
+					slot.payload = null;
+					slot.sequence = head + slots.length;
+					head++;
+				}
+				else if (closed && tail.get() == head) {
+					return;
+				}
+				else {
+					dispatcherWaiting = true;
+					if (slot.sequence != head + 1 && !closed) {
+						LockSupport.park(this);
+					}
+					dispatcherWaiting = false;
+				}
+			}
+		}
+
+		private void dispatch(Slot slot) {
+			try {
+				switch (slot.type) {
+					case DYNAMIC_TEST_REGISTERED:
+						delegate.dynamicTestRegistered(slot.testDescriptor);
+						break;
+					case EXECUTION_SKIPPED:
+						delegate.executionSkipped(slot.testDescriptor, (String) slot.payload);
+						break;
+					case EXECUTION_STARTED:
+						delegate.executionStarted(slot.testDescriptor);
+						break;
+					case EXECUTION_FINISHED:
+						delegate.executionFinished(slot.testDescriptor, (TestExecutionResult) slot.payload);
+						break;
+					case REPORTING_ENTRY_PUBLISHED:
+						delegate.reportingEntryPublished(slot.testDescriptor, (ReportEntry) slot.payload);
+						break;
+				}
+			}
+			catch (Throwable t) {
+				if (failure == null) {
+					failure = t;
+				}
+				else {
+					failure.addSuppressed(t);
+				}
+			}
+		}
+
+		void close() {
+			closed = true;
+			LockSupport.unpark(thread);
+			boolean interrupted = false;
+			while (thread.isAlive()) {
+				try {
+					thread.join();
+				}
+				catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+			if (failure != null) {
+				throw failure instanceof RuntimeException ? (RuntimeException) failure : new RuntimeException(failure);
+			}
+		}
+	}
+
+	private static class Slot {
+
+		volatile long sequence;
+		int type;
+		TestDescriptor testDescriptor;
+		Object payload;
+
+		Slot(long sequence) {
+			this.sequence = sequence;
+		}
+	}
+}
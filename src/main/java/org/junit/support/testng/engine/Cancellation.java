@@ -0,0 +1,242 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.ExecutionRequest;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * Cooperative cancellation of an execution request.
+ * <p>
+ * The cancellation token of the request, which is only available on recent versions of the JUnit Platform, is bound
+ * to a method handle once and polled whenever {@link #isRequested()} is called. Execution may also be cancelled from
+ * within the engine via {@link #request()}. If configured, a daemon thread polls for the cancellation while tests are
+ * executing and interrupts tests that are still running once the grace period after it has elapsed.
+ * {@link ExecutionListener} skips test methods and test classes that haven't started yet.
+ * The time it took from detecting the cancellation to stopping is published as a report entry.
+ */
+class Cancellation {
+
+	static final String INTERRUPT_AFTER_PARAMETER = "testng.execution.cancellation.interruptAfterMillis";
+
+	static final Cancellation UNSUPPORTED = new Cancellation(null, -1);
+
+	private static final long POLL_INTERVAL_NANOS = MILLISECONDS.toNanos(10);
+
+	private static final int RUNNING = 0;
+	private static final int INTERRUPTING = 1;
+	private static final int INTERRUPTED = 2;
+	private static final int FINISHED = 3;
+
+	private final MethodHandle isCancellationRequested;
+	private final long interruptAfterNanos;
+	private final Map<Thread, AtomicInteger> runningTests = new ConcurrentHashMap<>();
+	private final AtomicInteger interruptedTests = new AtomicInteger();
+	private volatile boolean requested;
+	private volatile long requestedNanos;
+	private volatile boolean stopped;
+	private long stoppedNanos;
+	private Thread watcher;
+
+	static Cancellation from(ExecutionRequest request) {
+		return new Cancellation(findCancellationToken(request),
+			getInterruptAfterNanos(request.getConfigurationParameters()));
+	}
+
+	private static MethodHandle findCancellationToken(ExecutionRequest request) {
+		Optional<Method> getCancellationToken = ReflectionSupport.findMethod(ExecutionRequest.class,
+			"getCancellationToken");
+		if (!getCancellationToken.isPresent()) {
+			return null;
+		}
+		Object token = ReflectionSupport.invokeMethod(getCancellationToken.get(), request);
+		try {
+			return MethodHandles.publicLookup() //
+					.findVirtual(getCancellationToken.get().getReturnType(), "isCancellationRequested",
+						methodType(boolean.class)) //
+					.bindTo(token);
+		}
+		catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private static long getInterruptAfterNanos(ConfigurationParameters config) {
+		return config.get(INTERRUPT_AFTER_PARAMETER, Long::parseLong) //
+				.map(millis -> {
+					if (millis < 0) {
+						throw new IllegalArgumentException(
+							"Unsupported value for " + INTERRUPT_AFTER_PARAMETER + ": " + millis);
+					}
+					return MILLISECONDS.toNanos(millis);
+				}) //
+				.orElse(-1L);
+	}
+
+	private Cancellation(MethodHandle isCancellationRequested, long interruptAfterNanos) {
+		this.isCancellationRequested = isCancellationRequested;
+		this.interruptAfterNanos = interruptAfterNanos;
+	}
+
+	boolean isRequested() {
+		if (requested) {
+			return true;
+		}
+		if (isCancellationRequested == null || !poll()) {
+			return false;
+		}
+		markRequested();
+		return true;
+	}
+
+	private boolean poll() {
+		try {
+			return (boolean) isCancellationRequested.invokeExact();
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	/**
+	 * Cancel execution from within the engine, e.g. by the {@link Watchdog}, regardless of whether the JUnit Platform
+	 * supports cancellation tokens.
+	 */
+	void request() {
+		if (this != UNSUPPORTED) {
+			markRequested();
+		}
+	}
+
+	private synchronized void markRequested() {
+		if (!requested) {
+			requestedNanos = System.nanoTime();
+			requested = true;
+		}
+	}
+
+	/**
+	 * Start interrupting running tests once execution is cancelled, if configured.
+	 */
+	void start() {
+		if (interruptAfterNanos >= 0) {
+			watcher = new Thread(this::watch, "testng-engine-cancellation");
+			watcher.setDaemon(true);
+			watcher.start();
+		}
+	}
+
+	private void watch() {
+		while (!stopped) {
+			if (isRequested() && System.nanoTime() - requestedNanos >= interruptAfterNanos) {
+				interruptRunningTests();
+			}
+			LockSupport.parkNanos(this, POLL_INTERVAL_NANOS);
+		}
+	}
+
+	private void interruptRunningTests() {
+		runningTests.forEach((thread, state) -> {
+			if (state.compareAndSet(RUNNING, INTERRUPTING)) {
+				thread.interrupt();
+				interruptedTests.incrementAndGet();
+				state.set(INTERRUPTED);
+			}
+		});
+	}
+
+	/**
+	 * Register the current thread as running a test so that it may be interrupted upon cancellation.
+	 */
+	void testStarted() {
+		if (interruptAfterNanos >= 0) {
+			runningTests.put(Thread.currentThread(), new AtomicInteger(RUNNING));
+		}
+	}
+
+	/**
+	 * Unregister the current thread and clear its interrupt status if it was interrupted due to cancellation, so that
+	 * the interrupt doesn't affect TestNG or subsequent tests run by the same thread.
+	 *
+	 * @return whether the test was interrupted due to cancellation
+	 */
+	boolean testFinished() {
+		AtomicInteger state = runningTests.remove(Thread.currentThread());
+		if (state == null || state.compareAndSet(RUNNING, FINISHED)) {
+			return false;
+		}
+		while (state.get() == INTERRUPTING) {
+			Thread.yield();
+		}
+		Thread.interrupted();
+		return true;
+	}
+
+	/**
+	 * Stop interrupting running tests; may be called more than once.
+	 */
+	void stop() {
+		if (stopped || this == UNSUPPORTED) {
+			return;
+		}
+		stoppedNanos = System.nanoTime();
+		stopped = true;
+		if (watcher != null) {
+			LockSupport.unpark(watcher);
+			boolean interrupted = false;
+			while (watcher.isAlive()) {
+				try {
+					watcher.join();
+				}
+				catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * @return a report entry with the time it took from detecting the cancellation until execution stopped and the
+	 * number of interrupted tests, if execution was cancelled
+	 */
+	Optional<ReportEntry> toReportEntry() {
+		if (!requested || !stopped) {
+			return Optional.empty();
+		}
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put("cancellationLatencyMillis",
+			String.valueOf(NANOSECONDS.toMillis(Math.max(0, stoppedNanos - requestedNanos))));
+		values.put("interruptedTests", String.valueOf(interruptedTests.get()));
+		return Optional.of(ReportEntry.from(values));
+	}
+}
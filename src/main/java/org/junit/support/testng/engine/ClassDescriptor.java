@@ -11,9 +11,10 @@
 package org.junit.support.testng.engine;
 
 import static java.util.Collections.emptySet;
-import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toList;
 
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,19 +22,18 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
-import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestTag;
 import org.junit.platform.engine.UniqueId;
-import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
 import org.junit.platform.engine.support.descriptor.ClassSource;
 import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.testng.IClass;
 import org.testng.ITestResult;
 
-class ClassDescriptor extends AbstractTestDescriptor {
+class ClassDescriptor extends ConcurrentTestDescriptor {
 
 	static final String SEGMENT_TYPE = "class";
 
-	private final ConcurrentMap<String, MethodDescriptor> methodsById = new ConcurrentHashMap<>();
+	private final ConcurrentMap<IClass, InstanceIndex> instanceIndices = new ConcurrentHashMap<>();
 	private final Class<?> testClass;
 	private final Set<TestTag> tags;
 	final AtomicInteger remainingIterations = new AtomicInteger();
@@ -66,28 +66,27 @@ class ClassDescriptor extends AbstractTestDescriptor {
 
 	@Override
 	public Set<TestTag> getTags() {
-		return unmodifiableSet(tags);
+		return tags;
 	}
 
-	@Override
-	public void addChild(TestDescriptor child) {
-		methodsById.put(toChildKey(child), (MethodDescriptor) child);
-		super.addChild(child);
-	}
-
-	@Override
-	public void removeChild(TestDescriptor child) {
-		methodsById.remove(toChildKey(child));
-		super.removeChild(child);
+	public Optional<MethodDescriptor> findMethodDescriptor(ITestResult result) {
+		String methodId = MethodDescriptor.toMethodId(result, MethodSignature.from(result.getMethod()),
+			getInstanceIndex(result.getTestClass()));
+		return findChild(getUniqueId().append(MethodDescriptor.SEGMENT_TYPE, methodId)) //
+				.map(MethodDescriptor.class::cast);
 	}
 
-	private String toChildKey(TestDescriptor child) {
-		return child.getUniqueId().getLastSegment().getValue();
+	InstanceIndex getInstanceIndex(IClass testClass) {
+		return instanceIndices.computeIfAbsent(testClass, InstanceIndex::new);
 	}
 
-	public Optional<MethodDescriptor> findMethodDescriptor(ITestResult result) {
-		return Optional.ofNullable(
-			methodsById.get(MethodDescriptor.toMethodId(result, MethodSignature.from(result.getMethod()))));
+	/**
+	 * Drop the indices of the instances of this test class so they are not retained after it has finished. Since
+	 * TestNG reports a test class as started and finished once per instance, this must only be called once all of its
+	 * instances have finished.
+	 */
+	void forgetInstanceIndices() {
+		instanceIndices.clear();
 	}
 
 	public void includeTestMethod(String methodName) {
@@ -98,11 +97,18 @@ class ClassDescriptor extends AbstractTestDescriptor {
 		executionStrategy = executionStrategy.selectEntireClass();
 	}
 
-	public void prepareExecution() {
-		executionStrategy = new IncludeMethodsExecutionStrategy(getChildren().stream() //
+	public void prepareExecution(ExecutionOrder executionOrder) {
+		List<MethodDescriptor> methodDescriptors = getChildren().stream() //
 				.map(child -> (MethodDescriptor) child) //
-				.map(MethodDescriptor::getMethodSource) //
-				.map(MethodSource::getMethodName));
+				.collect(toList());
+		executionStrategy = new IncludeMethodsExecutionStrategy(
+			executionOrder.orderMethods(methodDescriptors).stream() //
+					.map(MethodDescriptor::getMethodSource) //
+					.map(MethodSource::getMethodName));
+	}
+
+	public void excludeFromExecution() {
+		executionStrategy = new IncludeMethodsExecutionStrategy();
 	}
 
 	interface ExecutionStrategy {
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * Thread-safe set of the children of a {@link ConcurrentTestDescriptor} that iterates in insertion order.
+ * <p>
+ * Every added child is assigned the next number of a sequence and stored in a skip list ordered by it, so appends
+ * always go to the end of the list and never need to lock or copy. The sequence number of every child is kept in a
+ * hash map by unique ID so that duplicates are ignored and lookups and removals don't have to traverse the list. A
+ * child is put into the list before its sequence number is published in the map so removals always find it there.
+ * Iterators are weakly consistent, i.e. they never throw {@link java.util.ConcurrentModificationException} and
+ * reflect children added while iterating if they are appended after the current position.
+ */
+class ConcurrentChildren extends AbstractSet<TestDescriptor> {
+
+	private final AtomicLong nextSequence = new AtomicLong();
+	private final ConcurrentNavigableMap<Long, TestDescriptor> children = new ConcurrentSkipListMap<>();
+	private final Map<UniqueId, Long> sequencesByUniqueId = new ConcurrentHashMap<>();
+
+	@Override
+	public boolean add(TestDescriptor child) {
+		long sequence = nextSequence.getAndIncrement();
+		Long existing = sequencesByUniqueId.computeIfAbsent(child.getUniqueId(), __ -> {
+			children.put(sequence, child);
+			return sequence;
+		});
+		return existing == sequence;
+	}
+
+	@Override
+	public boolean remove(Object child) {
+		return child instanceof TestDescriptor && remove(((TestDescriptor) child).getUniqueId());
+	}
+
+	private boolean remove(UniqueId uniqueId) {
+		Long sequence = sequencesByUniqueId.get(uniqueId);
+		if (sequence != null && sequencesByUniqueId.remove(uniqueId, sequence)) {
+			children.remove(sequence);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean contains(Object child) {
+		return child instanceof TestDescriptor
+				&& sequencesByUniqueId.containsKey(((TestDescriptor) child).getUniqueId());
+	}
+
+	TestDescriptor get(UniqueId uniqueId) {
+		Long sequence = sequencesByUniqueId.get(uniqueId);
+		return sequence == null ? null : children.get(sequence);
+	}
+
+	@Override
+	public Iterator<TestDescriptor> iterator() {
+		Iterator<TestDescriptor> delegate = children.values().iterator();
+		return new Iterator<TestDescriptor>() {
+
+			private TestDescriptor current;
+
+			@Override
+			public boolean hasNext() {
+				return delegate.hasNext();
+			}
+
+			@Override
+			public TestDescriptor next() {
+				current = delegate.next();
+				return current;
+			}
+
+			@Override
+			public void remove() {
+				if (current == null) {
+					throw new IllegalStateException();
+				}
+				ConcurrentChildren.this.remove(current);
+				current = null;
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return sequencesByUniqueId.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return sequencesByUniqueId.isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		sequencesByUniqueId.keySet().forEach(this::remove);
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent map keyed by identity whose lookups neither lock nor allocate.
+ * <p>
+ * Entries are stored with open addressing in an array that lookups probe without locking. Insertions and removals are
+ * serialized; an insertion publishes its entry in a free slot of the current array or of a larger copy of it, and a
+ * removal publishes a copy without the removed entries, so a lookup never misses an entry that was present when it
+ * started. Since every key is only inserted once, writes are rare compared to lookups.
+ */
+class ConcurrentIdentityMap<K, V> {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private volatile AtomicReferenceArray<Entry<K, V>> entries = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+	private int size;
+
+	V get(K key) {
+		AtomicReferenceArray<Entry<K, V>> entries = this.entries;
+		int mask = entries.length() - 1;
+		for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+			Entry<K, V> entry = entries.get(slot);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.key == key) {
+				return entry.value;
+			}
+		}
+	}
+
+	/**
+	 * @return the value already associated with the supplied key or {@code null} if the supplied value was added
+	 */
+	synchronized V putIfAbsent(K key, V value) {
+		V existing = get(key);
+		if (existing != null) {
+			return existing;
+		}
+		if (2 * (size + 1) > entries.length()) {
+			entries = copy(entries, entries.length() * 2, __ -> false);
+		}
+		insert(entries, new Entry<>(key, value));
+		size++;
+		return null;
+	}
+
+	synchronized void removeIf(Predicate<? super V> predicate) {
+		int retained = 0;
+		for (int slot = 0; slot < entries.length(); slot++) {
+			Entry<K, V> entry = entries.get(slot);
+			if (entry != null && !predicate.test(entry.value)) {
+				retained++;
+			}
+		}
+		if (retained == size) {
+			return;
+		}
+		int capacity = INITIAL_CAPACITY;
+		while (2 * (retained + 1) > capacity) {
+			capacity *= 2;
+		}
+		entries = copy(entries, capacity, predicate);
+		size = retained;
+	}
+
+	private static <K, V> AtomicReferenceArray<Entry<K, V>> copy(AtomicReferenceArray<Entry<K, V>> entries,
+			int capacity, Predicate<? super V> removalPredicate) {
+		AtomicReferenceArray<Entry<K, V>> copy = new AtomicReferenceArray<>(capacity);
+		for (int slot = 0; slot < entries.length(); slot++) {
+			Entry<K, V> entry = entries.get(slot);
+			if (entry != null && !removalPredicate.test(entry.value)) {
+				insert(copy, entry);
+			}
+		}
+		return copy;
+	}
+
+	private static <K, V> void insert(AtomicReferenceArray<Entry<K, V>> entries, Entry<K, V> entry) {
+		int mask = entries.length() - 1;
+		int slot = hash(entry.key) & mask;
+		while (entries.get(slot) != null) {
+			slot = (slot + 1) & mask;
+		}
+		entries.set(slot, entry);
+	}
+
+	private static int hash(Object key) {
+		int hash = System.identityHashCode(key);
+		return hash ^ (hash >>> 16);
+	}
+
+	private static final class Entry<K, V> {
+		final K key;
+		final V value;
+
+		Entry(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+}
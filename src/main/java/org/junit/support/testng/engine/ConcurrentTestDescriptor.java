@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+
+/**
+ * Base class for descriptors whose children are registered dynamically by concurrently executing tests.
+ * <p>
+ * Behaves like {@link AbstractTestDescriptor} except that its children are kept in {@link ConcurrentChildren} rather
+ * than a synchronized {@link java.util.LinkedHashSet}, so adding and removing them doesn't contend on a single lock
+ * and iterating over them while they are being modified is safe. The children are only allocated when the first one
+ * is added since most descriptors, e.g. the ones of invocations, never have any; until then, {@link #getChildren()}
+ * returns an empty set that doesn't reflect children added later.
+ */
+abstract class ConcurrentTestDescriptor implements TestDescriptor {
+
+	private final UniqueId uniqueId;
+	private final String displayName;
+	private final TestSource source;
+	private static final AtomicReferenceFieldUpdater<ConcurrentTestDescriptor, ConcurrentChildren> CHILDREN = //
+		AtomicReferenceFieldUpdater.newUpdater(ConcurrentTestDescriptor.class, ConcurrentChildren.class, "children");
+
+	private volatile TestDescriptor parent;
+	private volatile ConcurrentChildren children;
+
+	protected ConcurrentTestDescriptor(UniqueId uniqueId, String displayName, TestSource source) {
+		this.uniqueId = requireNonNull(uniqueId, "uniqueId must not be null");
+		this.displayName = requireNonNull(displayName, "displayName must not be null");
+		this.source = source;
+	}
+
+	@Override
+	public final UniqueId getUniqueId() {
+		return uniqueId;
+	}
+
+	@Override
+	public final String getDisplayName() {
+		return displayName;
+	}
+
+	@Override
+	public Set<TestTag> getTags() {
+		return emptySet();
+	}
+
+	@Override
+	public Optional<TestSource> getSource() {
+		return Optional.ofNullable(source);
+	}
+
+	@Override
+	public final Optional<TestDescriptor> getParent() {
+		return Optional.ofNullable(parent);
+	}
+
+	@Override
+	public final void setParent(TestDescriptor parent) {
+		this.parent = parent;
+	}
+
+	@Override
+	public final Set<? extends TestDescriptor> getChildren() {
+		ConcurrentChildren children = this.children;
+		return children == null ? emptySet() : unmodifiableSet(children);
+	}
+
+	@Override
+	public void addChild(TestDescriptor child) {
+		requireNonNull(child, "child must not be null");
+		child.setParent(this);
+		ConcurrentChildren children = this.children;
+		if (children == null) {
+			CHILDREN.compareAndSet(this, null, new ConcurrentChildren());
+			children = this.children;
+		}
+		children.add(child);
+	}
+
+	@Override
+	public void removeChild(TestDescriptor child) {
+		requireNonNull(child, "child must not be null");
+		ConcurrentChildren children = this.children;
+		if (children != null) {
+			children.remove(child);
+		}
+		child.setParent(null);
+	}
+
+	@Override
+	public void removeFromHierarchy() {
+		TestDescriptor parent = this.parent;
+		if (parent == null) {
+			throw new IllegalStateException("cannot remove the root of a hierarchy");
+		}
+		parent.removeChild(this);
+		ConcurrentChildren children = this.children;
+		if (children != null) {
+			children.forEach(child -> child.setParent(null));
+			children.clear();
+		}
+	}
+
+	/**
+	 * Find the direct child with the supplied unique ID without traversing the other children.
+	 */
+	Optional<TestDescriptor> findChild(UniqueId uniqueId) {
+		ConcurrentChildren children = this.children;
+		return children == null ? Optional.empty() : Optional.ofNullable(children.get(uniqueId));
+	}
+
+	@Override
+	public Optional<? extends TestDescriptor> findByUniqueId(UniqueId uniqueId) {
+		if (this.uniqueId.equals(uniqueId)) {
+			return Optional.of(this);
+		}
+		for (TestDescriptor child : getChildren()) {
+			Optional<? extends TestDescriptor> result = child.findByUniqueId(uniqueId);
+			if (result.isPresent()) {
+				return result;
+			}
+		}
+		return Optional.empty();
+	}
+
+	@Override
+	public final int hashCode() {
+		return uniqueId.hashCode();
+	}
+
+	@Override
+	public final boolean equals(Object other) {
+		if (other == this) {
+			return true;
+		}
+		if (other == null || getClass() != other.getClass()) {
+			return false;
+		}
+		return uniqueId.equals(((TestDescriptor) other).getUniqueId());
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + ": " + uniqueId;
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free table of values indexed by dense, non-negative IDs such as {@link MethodDescriptor#getId()}.
+ * <p>
+ * Values are stored in fixed-size chunks that are allocated on first use so the table can grow without copying.
+ */
+class DenseIdTable<T> {
+
+	private static final int CHUNK_BITS = 12;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int MAX_CHUNKS = 1 << 12;
+
+	private final AtomicReferenceArray<AtomicReferenceArray<T>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+
+	T get(int id) {
+		AtomicReferenceArray<T> chunk = chunks.get(chunkIndex(id));
+		return chunk == null ? null : chunk.get(id & (CHUNK_SIZE - 1));
+	}
+
+	T computeIfAbsent(int id, Supplier<T> supplier) {
+		AtomicReferenceArray<T> chunk = getOrCreateChunk(id);
+		int index = id & (CHUNK_SIZE - 1);
+		T value = chunk.get(index);
+		if (value == null) {
+			T newValue = supplier.get();
+			value = chunk.compareAndSet(index, null, newValue) ? newValue : chunk.get(index);
+		}
+		return value;
+	}
+
+	T remove(int id) {
+		AtomicReferenceArray<T> chunk = chunks.get(chunkIndex(id));
+		return chunk == null ? null : chunk.getAndSet(id & (CHUNK_SIZE - 1), null);
+	}
+
+	private AtomicReferenceArray<T> getOrCreateChunk(int id) {
+		int chunkIndex = chunkIndex(id);
+		AtomicReferenceArray<T> chunk = chunks.get(chunkIndex);
+		if (chunk == null) {
+			AtomicReferenceArray<T> newChunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+			chunk = chunks.compareAndSet(chunkIndex, null, newChunk) ? newChunk : chunks.get(chunkIndex);
+		}
+		return chunk;
+	}
+
+	private static int chunkIndex(int id) {
+		int chunkIndex = id >>> CHUNK_BITS;
+		if (chunkIndex >= MAX_CHUNKS) {
+			throw new IllegalStateException("Too many test methods: " + id);
+		}
+		return chunkIndex;
+	}
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Determines and hashes the classes and archives a test class depends on.
+ * <p>
+ * The dependencies of a test class are all classes that are transitively referenced from the constant pool of its
+ * class file, except for classes of the Java runtime. A class loaded from a directory is a dependency by itself and is
+ * hashed by the contents of its class file. A class loaded from an archive is represented by the archive, which is
+ * hashed by its size and modification time, so that every change inside it is detected. The contents of classes loaded
+ * from anywhere else can't be determined, so neither can the digest of any test class that depends on them. Class
+ * files and archives are read and hashed at most once per instance.
+ */
+class DependencyAnalyzer {
+
+	static final String ARCHIVE_PREFIX = "archive:";
+
+	private static final String UNKNOWN_PREFIX = "unknown:";
+	private static final Pattern TYPE_DESCRIPTOR = Pattern.compile("L([\\w/$]+)[;<]");
+	private static final String MISSING = "-";
+	private static final Path JAVA_HOME = Paths.get(System.getProperty("java.home")).toAbsolutePath();
+
+	private final Map<String, Optional<ClassFile>> classFilesByClassName = new ConcurrentHashMap<>();
+	private final Map<String, String> hashesByDependency = new ConcurrentHashMap<>();
+
+	Set<String> dependencies(Class<?> testClass) {
+		ClassLoader classLoader = classLoader(testClass);
+		Set<String> dependencies = new TreeSet<>();
+		Set<String> visited = new HashSet<>();
+		Deque<String> queue = new ArrayDeque<>();
+		queue.add(testClass.getName());
+		while (!queue.isEmpty()) {
+			String className = queue.poll();
+			if (visited.add(className)) {
+				Optional<ClassFile> classFile = classFilesByClassName.computeIfAbsent(className,
+					__ -> readClassFile(classLoader, className));
+				if (classFile.isPresent()) {
+					dependencies.add(classFile.get().dependency);
+					queue.addAll(classFile.get().referencedClassNames);
+				}
+			}
+		}
+		return dependencies;
+	}
+
+	/**
+	 * @return a digest of the contents of the supplied dependencies, or empty if the contents of any of them can't be
+	 * determined
+	 */
+	Optional<String> digest(Class<?> testClass, Collection<String> dependencies) {
+		ClassLoader classLoader = classLoader(testClass);
+		MessageDigest digest = sha256();
+		for (String dependency : dependencies) {
+			if (dependency.startsWith(UNKNOWN_PREFIX)) {
+				return Optional.empty();
+			}
+			String hash = hashesByDependency.computeIfAbsent(dependency, __ -> hash(classLoader, dependency));
+			digest.update((dependency + "=" + hash + "\n").getBytes(UTF_8));
+		}
+		return Optional.of(toHex(digest.digest()));
+	}
+
+	private static String hash(ClassLoader classLoader, String dependency) {
+		try {
+			if (dependency.startsWith(ARCHIVE_PREFIX)) {
+				Path archive = Paths.get(new URI(dependency.substring(ARCHIVE_PREFIX.length())));
+				if (!Files.isRegularFile(archive)) {
+					return MISSING;
+				}
+				return Files.size(archive) + "@" + Files.getLastModifiedTime(archive).toMillis();
+			}
+			// a class that has been moved to an archive is represented by the archive from now on
+			URL resource = classLoader.getResource(toResourceName(dependency));
+			if (resource == null || !dependency.equals(toDependency(dependency, resource))) {
+				return MISSING;
+			}
+			return toHex(sha256().digest(readAllBytes(resource)));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		catch (URISyntaxException | IllegalArgumentException e) {
+			return MISSING;
+		}
+	}
+
+	private static Optional<ClassFile> readClassFile(ClassLoader classLoader, String className) {
+		URL resource = classLoader.getResource(toResourceName(className));
+		if (resource == null) {
+			return Optional.empty();
+		}
+		String dependency = toDependency(className, resource);
+		if (dependency == null) {
+			return Optional.empty();
+		}
+		if (dependency.startsWith(UNKNOWN_PREFIX)) {
+			return Optional.of(new ClassFile(dependency, Collections.emptySet()));
+		}
+		try {
+			return Optional.of(new ClassFile(dependency, referencedClassNames(readAllBytes(resource))));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @return the name of a class loaded from a directory, the archive containing a class loaded from an archive,
+	 * {@code null} for a class of the Java runtime, or an unknown dependency otherwise
+	 */
+	private static String toDependency(String className, URL resource) {
+		try {
+			switch (resource.getProtocol()) {
+				case "jrt":
+					return null;
+				case "file":
+					return Paths.get(resource.toURI()).startsWith(JAVA_HOME) ? null : className;
+				case "jar":
+					String path = resource.getPath();
+					int separator = path.indexOf("!/");
+					URI archive = new URI(separator < 0 ? path : path.substring(0, separator));
+					if ("file".equals(archive.getScheme())) {
+						return Paths.get(archive).startsWith(JAVA_HOME) ? null : ARCHIVE_PREFIX + archive;
+					}
+					break;
+				default:
+					break;
+			}
+		}
+		catch (URISyntaxException | IllegalArgumentException e) {
+			// fall through
+		}
+		return UNKNOWN_PREFIX + className;
+	}
+
+	private static String toResourceName(String className) {
+		return className.replace('.', '/') + ".class";
+	}
+
+	private static byte[] readAllBytes(URL resource) throws IOException {
+		try (InputStream in = resource.openStream()) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) >= 0) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	/**
+	 * Collects the names of all classes referenced from the constant pool of the supplied class file, either directly
+	 * or from field, method, and generic signature descriptors.
+	 */
+	private static Set<String> referencedClassNames(byte[] classFile) {
+		Set<String> classNames = new HashSet<>();
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile))) {
+			if (in.readInt() != 0xCAFEBABE) {
+				return classNames;
+			}
+			in.skipBytes(4); // minor and major version
+			int constantPoolCount = in.readUnsignedShort();
+			String[] utf8Entries = new String[constantPoolCount];
+			List<Integer> classNameIndices = new ArrayList<>();
+			for (int i = 1; i < constantPoolCount; i++) {
+				int tag = in.readUnsignedByte();
+				switch (tag) {
+					case 1: // Utf8
+						utf8Entries[i] = in.readUTF();
+						break;
+					case 7: // Class
+						classNameIndices.add(in.readUnsignedShort());
+						break;
+					case 8: // String
+					case 16: // MethodType
+					case 19: // Module
+					case 20: // Package
+						in.skipBytes(2);
+						break;
+					case 15: // MethodHandle
+						in.skipBytes(3);
+						break;
+					case 3: // Integer
+					case 4: // Float
+					case 9: // Fieldref
+					case 10: // Methodref
+					case 11: // InterfaceMethodref
+					case 12: // NameAndType
+					case 17: // Dynamic
+					case 18: // InvokeDynamic
+						in.skipBytes(4);
+						break;
+					case 5: // Long
+					case 6: // Double
+						in.skipBytes(8);
+						i++;
+						break;
+					default:
+						throw new IOException("Unsupported constant pool tag: " + tag);
+				}
+			}
+			for (int index : classNameIndices) {
+				String internalName = utf8Entries[index];
+				if (internalName != null && !internalName.startsWith("[")) {
+					classNames.add(internalName.replace('/', '.'));
+				}
+			}
+			for (String utf8Entry : utf8Entries) {
+				if (utf8Entry != null && utf8Entry.indexOf(';') >= 0) {
+					Matcher matcher = TYPE_DESCRIPTOR.matcher(utf8Entry);
+					while (matcher.find()) {
+						classNames.add(matcher.group(1).replace('/', '.'));
+					}
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return classNames;
+	}
+
+	private static ClassLoader classLoader(Class<?> testClass) {
+		ClassLoader classLoader = testClass.getClassLoader();
+		return classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader;
+	}
+
+	static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static String toHex(byte[] bytes) {
+		StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return builder.toString();
+	}
+
+	private static class ClassFile {
+		final String dependency;
+		final Set<String> referencedClassNames;
+
+		ClassFile(String dependency, Set<String> referencedClassNames) {
+			this.dependency = dependency;
+			this.referencedClassNames = referencedClassNames;
+		}
+	}
+}
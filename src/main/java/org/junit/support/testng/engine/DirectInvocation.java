@@ -0,0 +1,315 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.emptyList;
+import static java.util.Comparator.comparingInt;
+import static org.junit.platform.engine.TestExecutionResult.aborted;
+import static org.junit.platform.engine.TestExecutionResult.failed;
+import static org.junit.platform.engine.TestExecutionResult.successful;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.regex.Pattern;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.testng.ITestNGListener;
+import org.testng.SkipException;
+import org.testng.TestException;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite.ParallelMode;
+
+/**
+ * Runs test classes that don't need any of TestNG's invoker machinery by invoking their test methods directly via
+ * method handles and reporting the outcome to the descriptors created during discovery.
+ * <p>
+ * A test class qualifies if it and its superclasses are public, have a public no-args constructor, use no TestNG
+ * annotation but {@link Test}, implement none of TestNG's interfaces, and all of its test methods are public, have
+ * no parameters, and don't use data providers, dependencies, repeated invocations, timeouts, retry analyzers, or
+ * custom attributes. Expected exceptions and their message patterns are checked the same way TestNG does. Methods
+ * that are not enabled are not invoked. All other classes are run by TestNG as usual, which also runs all classes of
+ * a batch if any of them interacts with others, e.g. via suite-level configuration methods or group dependencies.
+ * Qualifying classes are run before the rest of their batch. The mode is not used at all if custom or default
+ * listeners or parallel execution are configured since they would not be notified about or apply to directly invoked
+ * methods.
+ */
+class DirectInvocation {
+
+	static final String ENABLED_PARAMETER = "testng.execution.directInvocation";
+
+	static final DirectInvocation DISABLED = new DirectInvocation();
+
+	private DirectInvocation() {
+	}
+
+	static DirectInvocation from(ConfigurationParameters config) {
+		if (!config.getBoolean(ENABLED_PARAMETER).orElse(false)
+				|| config.get("testng.listeners").filter(it -> !it.trim().isEmpty()).isPresent()
+				|| config.getBoolean("testng.useDefaultListeners").orElse(false)
+				|| config.get("testng.parallel", ParallelMode::getValidParallel).filter(
+					it -> it != ParallelMode.NONE).isPresent()
+				|| ServiceLoader.load(ITestNGListener.class).iterator().hasNext()) {
+			return DISABLED;
+		}
+		return new DirectInvocation();
+	}
+
+	/**
+	 * Invoke the test methods of all qualifying classes of the supplied batch directly.
+	 *
+	 * @return the classes of the batch that have to be run by TestNG
+	 */
+	List<ClassDescriptor> runQualifyingClasses(List<ClassDescriptor> batch, EngineExecutionListener listener,
+			ExecutionListener executionListener, Cancellation cancellation) {
+		List<ClassDescriptor> remaining = new ArrayList<>();
+		for (DirectClass directClass : findQualifyingClasses(batch, remaining)) {
+			if (cancellation.isRequested()) {
+				executionListener.skipDueToCancellation(directClass.descriptor);
+			}
+			else {
+				directClass.run(listener, executionListener, cancellation);
+			}
+		}
+		return remaining;
+	}
+
+	/**
+	 * @return the classes of the supplied batch that have to be run by TestNG
+	 */
+	List<ClassDescriptor> getClassesRunByTestNG(List<ClassDescriptor> batch) {
+		List<ClassDescriptor> remaining = new ArrayList<>();
+		findQualifyingClasses(batch, remaining);
+		return remaining;
+	}
+
+	private List<DirectClass> findQualifyingClasses(List<ClassDescriptor> batch, List<ClassDescriptor> remaining) {
+		if (this == DISABLED) {
+			remaining.addAll(batch);
+			return emptyList();
+		}
+		List<DirectClass> qualifying = new ArrayList<>();
+		for (ClassDescriptor classDescriptor : batch) {
+			Optional<DirectClass> directClass = DirectClass.from(classDescriptor);
+			if (directClass.isPresent()) {
+				qualifying.add(directClass.get());
+			}
+			else if (TestAnnotationUtils.interactsWithOtherTestClasses(classDescriptor.getTestClass())) {
+				remaining.clear();
+				remaining.addAll(batch);
+				return emptyList();
+			}
+			else {
+				remaining.add(classDescriptor);
+			}
+		}
+		return qualifying;
+	}
+
+	private static final class DirectClass {
+
+		final ClassDescriptor descriptor;
+		final MethodHandle constructor;
+		final List<DirectMethod> methods;
+
+		private DirectClass(ClassDescriptor descriptor, MethodHandle constructor, List<DirectMethod> methods) {
+			this.descriptor = descriptor;
+			this.constructor = constructor;
+			this.methods = methods;
+		}
+
+		static Optional<DirectClass> from(ClassDescriptor classDescriptor) {
+			Class<?> testClass = classDescriptor.getTestClass();
+			if (!Modifier.isPublic(testClass.getModifiers()) || Modifier.isAbstract(testClass.getModifiers())
+					|| testClass.getEnclosingClass() != null && !Modifier.isStatic(testClass.getModifiers())
+					|| !TestAnnotationUtils.usesOnlyTestAnnotations(testClass)
+					|| !TestAnnotationUtils.collectTestAnnotations(testClass) //
+							.allMatch(DirectClass::isSimpleClassLevel)) {
+				return Optional.empty();
+			}
+			MethodHandle constructor;
+			try {
+				constructor = MethodHandles.publicLookup() //
+						.findConstructor(testClass, methodType(void.class)) //
+						.asType(methodType(Object.class));
+			}
+			catch (NoSuchMethodException | IllegalAccessException e) {
+				return Optional.empty();
+			}
+			List<DirectMethod> methods = new ArrayList<>();
+			for (String methodName : classDescriptor.executionStrategy.getTestMethods()) {
+				Optional<DirectMethod> method = DirectMethod.from(classDescriptor, methodName);
+				if (!method.isPresent()) {
+					return Optional.empty();
+				}
+				methods.add(method.get());
+			}
+			methods.sort(comparingInt(it -> it.annotation == null ? 0 : it.annotation.priority()));
+			return Optional.of(new DirectClass(classDescriptor, constructor, methods));
+		}
+
+		private static boolean isSimpleClassLevel(Test annotation) {
+			return DirectMethod.isSimple(annotation) && annotation.expectedExceptions().length == 0
+					&& annotation.description().isEmpty() && annotation.priority() == 0;
+		}
+
+		void run(EngineExecutionListener listener, ExecutionListener executionListener, Cancellation cancellation) {
+			listener.executionStarted(descriptor);
+			Object instance;
+			try {
+				instance = (Object) constructor.invokeExact();
+			}
+			catch (Throwable t) {
+				listener.executionFinished(descriptor, failed(t));
+				return;
+			}
+			for (DirectMethod method : methods) {
+				if (cancellation.isRequested()) {
+					listener.executionSkipped(method.descriptor,
+						executionListener.getOrCreateSkipException().getMessage());
+				}
+				else if (method.isEnabled()) {
+					method.run(instance, listener, cancellation);
+				}
+			}
+			listener.executionFinished(descriptor, successful());
+		}
+	}
+
+	private static final class DirectMethod {
+
+		final MethodDescriptor descriptor;
+		final Method method;
+		final Test annotation;
+		final MethodHandle handle;
+
+		private DirectMethod(MethodDescriptor descriptor, Method method, Test annotation, MethodHandle handle) {
+			this.descriptor = descriptor;
+			this.method = method;
+			this.annotation = annotation;
+			this.handle = handle;
+		}
+
+		static Optional<DirectMethod> from(ClassDescriptor classDescriptor, String methodName) {
+			Optional<MethodDescriptor> descriptor = classDescriptor.findChild(
+				classDescriptor.getUniqueId().append(MethodDescriptor.SEGMENT_TYPE, methodName + "()")) //
+					.filter(child -> child.getType() == TestDescriptor.Type.TEST) //
+					.map(MethodDescriptor.class::cast);
+			if (!descriptor.isPresent()) {
+				return Optional.empty();
+			}
+			try {
+				Method method = classDescriptor.getTestClass().getMethod(methodName);
+				Test annotation = method.getAnnotation(Test.class);
+				if (Modifier.isStatic(method.getModifiers()) || annotation != null && !isSimple(annotation)) {
+					return Optional.empty();
+				}
+				MethodHandle handle = MethodHandles.publicLookup().unreflect(method) //
+						.asType(methodType(void.class, Object.class));
+				return Optional.of(new DirectMethod(descriptor.get(), method, annotation, handle));
+			}
+			catch (NoSuchMethodException | IllegalAccessException e) {
+				return Optional.empty();
+			}
+		}
+
+		static boolean isSimple(Test annotation) {
+			return annotation.dataProvider().trim().isEmpty() && annotation.dataProviderClass() == Object.class
+					&& annotation.dependsOnMethods().length == 0 && annotation.dependsOnGroups().length == 0
+					&& annotation.invocationCount() == 1 && annotation.threadPoolSize() == 0
+					&& annotation.successPercentage() == 100 && annotation.timeOut() == 0
+					&& annotation.invocationTimeOut() == 0
+					&& isDefaultRetryAnalyzer(annotation.retryAnalyzer())
+					&& !TestNGCapabilities.declaresAttributes(annotation);
+		}
+
+		private static boolean isDefaultRetryAnalyzer(Class<?> retryAnalyzer) {
+			return retryAnalyzer == Class.class || retryAnalyzer == TestNGCapabilities.DEFAULT_RETRY_ANALYZER;
+		}
+
+		boolean isEnabled() {
+			return annotation == null || annotation.enabled();
+		}
+
+		void run(Object instance, EngineExecutionListener listener, Cancellation cancellation) {
+			listener.executionStarted(descriptor);
+			String description = annotation == null ? "" : annotation.description().trim();
+			if (!description.isEmpty()) {
+				listener.reportingEntryPublished(descriptor, ReportEntry.from("description", description));
+			}
+			Throwable throwable = null;
+			cancellation.testStarted();
+			try {
+				handle.invokeExact(instance);
+			}
+			catch (Throwable t) {
+				throwable = t;
+			}
+			boolean interrupted = cancellation.testFinished();
+			listener.executionFinished(descriptor, toResult(instance, throwable, interrupted));
+		}
+
+		private TestExecutionResult toResult(Object instance, Throwable throwable, boolean interrupted) {
+			Class<?>[] expectedExceptions = annotation == null ? new Class<?>[0] : annotation.expectedExceptions();
+			if (throwable == null) {
+				return expectedExceptions.length == 0 //
+						? successful() //
+						: failed(new TestException("Method " + instance.getClass().getSimpleName() + "."
+								+ method.getName() + "()[pri:" + annotation.priority() + ", instance:" + instance
+								+ "] should have thrown an exception of " + describe(expectedExceptions)));
+			}
+			if (expectedExceptions.length > 0) {
+				if (throwable.getClass() != TestException.class && matchesMessage(throwable)
+						&& Arrays.stream(expectedExceptions).anyMatch(it -> it.isInstance(throwable))) {
+					return successful();
+				}
+				return failed(matchesMessage(throwable) //
+						? new TestException(
+							"Expected exception of " + describe(expectedExceptions) + " but got " + throwable,
+							throwable) //
+						: new TestException("The exception was thrown with the wrong message: expected \""
+								+ annotation.expectedExceptionsMessageRegExp() + "\" but got \""
+								+ throwable.getMessage() + "\"",
+							throwable));
+			}
+			if (interrupted || throwable instanceof SkipException && ((SkipException) throwable).isSkip()) {
+				return aborted(throwable);
+			}
+			return failed(throwable);
+		}
+
+		private boolean matchesMessage(Throwable throwable) {
+			String regExp = annotation.expectedExceptionsMessageRegExp();
+			if (".*".equals(regExp)) {
+				return true;
+			}
+			String message = throwable.getMessage();
+			return Pattern.compile(regExp, Pattern.DOTALL).matcher(message == null ? "" : message).matches();
+		}
+
+		private static String describe(Class<?>[] expectedExceptions) {
+			return expectedExceptions.length > 1 //
+					? "any of types " + Arrays.toString(expectedExceptions) //
+					: "type " + expectedExceptions[0];
+		}
+	}
+}
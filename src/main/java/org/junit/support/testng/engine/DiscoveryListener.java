@@ -37,6 +37,7 @@ class DiscoveryListener extends DefaultListener {
 		Set<ClassDescriptor> classDescriptors = new HashSet<>(engineDescriptor.getClassDescriptors());
 		classDescriptors.removeAll(testClassRegistry.getClassDescriptors());
 		classDescriptors.forEach(TestDescriptor::removeFromHierarchy);
+		engineDescriptor.getClassDescriptors().forEach(ClassDescriptor::forgetInstanceIndices);
 	}
 
 	@Override
@@ -10,75 +10,133 @@
 
 package org.junit.support.testng.engine;
 
-import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toList;
+import static org.junit.platform.engine.TestExecutionResult.Status.ABORTED;
 import static org.junit.platform.engine.TestExecutionResult.Status.SUCCESSFUL;
 import static org.junit.platform.engine.TestExecutionResult.aborted;
 import static org.junit.platform.engine.TestExecutionResult.failed;
 import static org.junit.platform.engine.TestExecutionResult.successful;
 
-import java.util.Arrays;
-import java.util.Iterator;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.BooleanSupplier;
-import java.util.stream.Stream;
 
 import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestDescriptor.Type;
 import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.reporting.ReportEntry;
 import org.testng.IInvokedMethod;
 import org.testng.ITestClass;
 import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 import org.testng.SkipException;
-import org.testng.annotations.CustomAttribute;
+import org.testng.xml.XmlTest;
 
 class ExecutionListener extends DefaultListener {
 
+	private static final String INTERRUPTED_ATTRIBUTE = ExecutionListener.class.getName() + ".interrupted";
+
 	private final TestClassRegistry testClassRegistry = new TestClassRegistry();
-	private final Map<ITestNGMethod, MethodProgress> inProgressTestMethods = new ConcurrentHashMap<>();
+	private final DenseIdTable<MethodProgress> inProgressTestMethods = new DenseIdTable<>();
+	private final ConcurrentIdentityMap<ITestNGMethod, ResolvedMethod> resolvedMethods = new ConcurrentIdentityMap<>();
+	private final Map<UniqueId, ResolvedMethod> dynamicMethods = new ConcurrentHashMap<>();
 
-	private final Set<ITestResult> engineLevelFailureResults = ConcurrentHashMap.newKeySet();
-	private final Map<ClassDescriptor, Set<ITestResult>> classLevelFailureResults = new ConcurrentHashMap<>();
+	private final Queue<ConfigurationFailure> engineLevelFailures = new ConcurrentLinkedQueue<>();
+	private final Map<ClassDescriptor, Queue<ConfigurationFailure>> classLevelFailures = new ConcurrentHashMap<>();
+	private final Set<Class<?>> classesSkippedDueToCancellation = ConcurrentHashMap.newKeySet();
+	private volatile boolean testsPreventedByConfigurationFailure;
 
 	private final EngineExecutionListener delegate;
-	private final BooleanSupplier cancellationToken;
+	private final Cancellation cancellation;
+	private final FailureCompaction failureCompaction;
 	private final TestNGEngineDescriptor engineDescriptor;
 
 	private volatile SkipException skipException;
 
-	ExecutionListener(EngineExecutionListener delegate, BooleanSupplier cancellationToken,
-			TestNGEngineDescriptor engineDescriptor) {
+	ExecutionListener(EngineExecutionListener delegate, Cancellation cancellation,
+			FailureCompaction failureCompaction, TestNGEngineDescriptor engineDescriptor) {
 		this.delegate = delegate;
-		this.cancellationToken = cancellationToken;
+		this.cancellation = cancellation;
+		this.failureCompaction = failureCompaction;
 		this.engineDescriptor = engineDescriptor;
 	}
 
+	/**
+	 * Remove the descriptors of invocations from the test tree once the supplied listener has been notified that they
+	 * finished, which might happen asynchronously.
+	 */
+	static EngineExecutionListener pruneFinishedInvocations(EngineExecutionListener delegate) {
+		return new DelegatingEngineExecutionListener(delegate) {
+			@Override
+			public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+				super.executionFinished(testDescriptor, testExecutionResult);
+				if (testDescriptor instanceof InvocationDescriptor) {
+					testDescriptor.getParent().ifPresent(parent -> parent.removeChild(testDescriptor));
+				}
+			}
+		};
+	}
+
 	@Override
 	public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
-		if (cancellationToken.getAsBoolean()) {
-			SkipException exception = skipException;
-			if (exception == null) {
-				exception = new SkipException("Execution cancelled");
-				skipException = exception;
-			}
-			throw exception;
+		if (cancellation.isRequested()) {
+			throw getOrCreateSkipException();
+		}
+		if (method.isTestMethod()) {
+			cancellation.testStarted();
+		}
+	}
+
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+		if (method.isTestMethod() && cancellation.testFinished()) {
+			testResult.setAttribute(INTERRUPTED_ATTRIBUTE, Boolean.TRUE);
 		}
 	}
 
+	/**
+	 * Report the supplied test class as skipped as a whole, so that none of its methods have to be reported
+	 * individually.
+	 */
+	void skipDueToCancellation(ClassDescriptor classDescriptor) {
+		if (classesSkippedDueToCancellation.add(classDescriptor.getTestClass())) {
+			delegate.executionSkipped(classDescriptor, getOrCreateSkipException().getMessage());
+		}
+	}
+
+	private boolean isSkippedDueToCancellation(ITestResult result) {
+		return !classesSkippedDueToCancellation.isEmpty()
+				&& classesSkippedDueToCancellation.contains(result.getTestClass().getRealClass());
+	}
+
+	SkipException getOrCreateSkipException() {
+		SkipException exception = skipException;
+		if (exception == null) {
+			exception = new SkipException("Execution cancelled");
+			skipException = exception;
+		}
+		return exception;
+	}
+
 	@Override
 	public void onBeforeClass(ITestClass testClass) {
 		ClassDescriptor classDescriptor = requireNonNull(engineDescriptor.findClassDescriptor(testClass.getRealClass()),
 			"Missing class descriptor");
 		testClassRegistry.start(testClass.getRealClass(), __ -> {
+			if (cancellation.isRequested() && !testClassRegistry.getClassDescriptors().contains(classDescriptor)) {
+				skipDueToCancellation(classDescriptor);
+				return null;
+			}
 			delegate.executionStarted(classDescriptor);
 			return classDescriptor;
 		});
@@ -95,13 +153,20 @@ class ExecutionListener extends DefaultListener {
 	}
 
 	private void handleConfigurationResult(ITestResult result) {
+		if (isSkippedDueToCancellation(result)) {
+			return;
+		}
+		ConfigurationFailure failure = ConfigurationFailure.from(result);
+		if (failure.preventsTests) {
+			testsPreventedByConfigurationFailure = true;
+		}
 		Optional<ClassDescriptor> classDescriptor = testClassRegistry.get(result.getTestClass().getRealClass());
 		if (classDescriptor.isPresent()) {
-			classLevelFailureResults.computeIfAbsent(classDescriptor.get(), __ -> ConcurrentHashMap.newKeySet()) //
-					.add(result);
+			classLevelFailures.computeIfAbsent(classDescriptor.get(), __ -> new ConcurrentLinkedQueue<>()) //
+					.add(failure);
 		}
 		else {
-			engineLevelFailureResults.add(result);
+			engineLevelFailures.add(failure);
 		}
 	}
 
@@ -109,38 +174,51 @@ class ExecutionListener extends DefaultListener {
 	public void onAfterClass(ITestClass testClass) {
 		testClassRegistry.finish(testClass.getRealClass(),
 			classDescriptor -> classDescriptor.remainingIterations.decrementAndGet() == 0, classDescriptor -> {
-				finishMethodsNotYetReportedAsFinished(testClass);
-				Set<ITestResult> results = classLevelFailureResults.remove(classDescriptor);
-				delegate.executionFinished(classDescriptor, toTestExecutionResult(results));
+				finishMethodsNotYetReportedAsFinished(classDescriptor);
+				forgetResolvedMethods(classDescriptor);
+				classDescriptor.forgetInstanceIndices();
+				Queue<ConfigurationFailure> failures = classLevelFailures.remove(classDescriptor);
+				delegate.executionFinished(classDescriptor, toClassResult(failures));
 			});
 	}
 
 	@Override
 	public void onTestStart(ITestResult result) {
+		// tests that are about to be skipped due to a configuration failure already carry its throwable
+		if (isSkippedDueToCancellation(result)
+				|| result.getThrowable() != null && isPreventedByConfigurationFailure(result)) {
+			return;
+		}
 		MethodProgress progress = startMethodProgress(result);
 		int invocationIndex = progress.invocationIndex.getAndIncrement();
 		if (invocationIndex == 0) {
 			reportStarted(result, progress);
 		}
 		if (progress.descriptor.getType().isContainer()) {
-			try {
-				progress.reportedAsStarted.await();
+			if (progress.summary != null) {
+				progress.invocationEvents.execute(() -> progress.invocations.put(result, invocationIndex, null));
 			}
-			catch (InterruptedException e) {
-				throw new RuntimeException("Interrupted while waiting for test method to be reported as started");
+			else {
+				progress.invocationEvents.execute(
+					() -> createInvocationAndReportStarted(progress, invocationIndex, result));
 			}
-			createInvocationAndReportStarted(progress, invocationIndex, result);
 		}
 	}
 
 	@Override
 	public void onTestSuccess(ITestResult result) {
+		if (isSkippedDueToCancellation(result)) {
+			return;
+		}
 		reportFinished(result, successful());
 	}
 
 	@Override
 	public void onTestSkipped(ITestResult result) {
-		MethodProgress progress = inProgressTestMethods.get(result.getMethod());
+		if (isSkippedDueToCancellation(result) || isPreventedByConfigurationFailure(result)) {
+			return;
+		}
+		MethodProgress progress = inProgressTestMethods.get(findOrCreateMethodDescriptor(result).getId());
 		if (progress != null || result.getThrowable() != null) {
 			if (progress == null) {
 				reportStarted(result, startMethodProgress(result));
@@ -153,12 +231,40 @@ class ExecutionListener extends DefaultListener {
 		}
 	}
 
+	/**
+	 * Determine whether the supplied skipped result was caused by a failed {@code @BeforeSuite}, {@code @BeforeTest},
+	 * or {@code @BeforeClass} method and its method has not been reported yet. Such methods are not reported
+	 * individually since their class or the engine is reported as aborted or failed with the actual cause, which
+	 * avoids creating and reporting descriptors for each of them.
+	 */
+	private boolean isPreventedByConfigurationFailure(ITestResult result) {
+		if (!testsPreventedByConfigurationFailure) {
+			return false;
+		}
+		if (resolvedMethods.get(result.getMethod()) != null) {
+			return false;
+		}
+		Optional<ClassDescriptor> classDescriptor = testClassRegistry.get(result.getTestClass().getRealClass());
+		Queue<ConfigurationFailure> failures = classDescriptor.map(classLevelFailures::get).orElse(null);
+		return failures != null && failures.stream().anyMatch(it -> it.prevents(result))
+				|| engineLevelFailures.stream().anyMatch(it -> it.prevents(result));
+	}
+
 	@Override
 	public void onTestFailure(ITestResult result) {
-		if (!inProgressTestMethods.containsKey(result.getMethod())) {
+		if (isSkippedDueToCancellation(result)) {
+			return;
+		}
+		if (inProgressTestMethods.get(findOrCreateMethodDescriptor(result).getId()) == null) {
 			reportStarted(result, startMethodProgress(result));
 		}
-		reportFinished(result, failed(result.getThrowable()));
+		reportFinished(result, wasInterruptedDueToCancellation(result) //
+				? aborted(result.getThrowable()) //
+				: failed(result.getThrowable()));
+	}
+
+	private boolean wasInterruptedDueToCancellation(ITestResult result) {
+		return cancellation.isRequested() && result.getAttribute(INTERRUPTED_ATTRIBUTE) != null;
 	}
 
 	@Override
@@ -173,65 +279,162 @@ class ExecutionListener extends DefaultListener {
 
 	private MethodProgress startMethodProgress(ITestResult result) {
 		MethodDescriptor methodDescriptor = findOrCreateMethodDescriptor(result);
-		return inProgressTestMethods.computeIfAbsent(result.getMethod(),
-			__ -> new MethodProgress(result.getMethod(), methodDescriptor));
+		return inProgressTestMethods.computeIfAbsent(methodDescriptor.getId(),
+			() -> new MethodProgress(result.getMethod(), methodDescriptor));
 	}
 
-	private void finishMethodsNotYetReportedAsFinished(ITestClass testClass) {
-		for (ITestNGMethod testMethod : testClass.getTestMethods()) {
-			MethodProgress progress = inProgressTestMethods.remove(testMethod);
+	private void finishMethodsNotYetReportedAsFinished(ClassDescriptor classDescriptor) {
+		for (TestDescriptor child : classDescriptor.getChildren()) {
+			MethodProgress progress = child instanceof MethodDescriptor
+					? inProgressTestMethods.remove(((MethodDescriptor) child).getId())
+					: null;
 			if (progress != null) {
+				if (progress.summary != null) {
+					delegate.reportingEntryPublished(progress.descriptor, progress.summary.toReportEntry());
+				}
 				delegate.executionFinished(progress.descriptor, successful());
 			}
 		}
 	}
 
+	private void forgetResolvedMethods(ClassDescriptor classDescriptor) {
+		resolvedMethods.removeIf(it -> it.classDescriptor == classDescriptor);
+		dynamicMethods.values().removeIf(it -> it.classDescriptor == classDescriptor);
+	}
+
 	private void reportStarted(ITestResult result, MethodProgress progress) {
 		delegate.executionStarted(progress.descriptor);
-		progress.reportedAsStarted.countDown();
 		String description = result.getMethod().getDescription();
 		if (description != null && !description.trim().isEmpty()) {
 			delegate.reportingEntryPublished(progress.descriptor, ReportEntry.from("description", description.trim()));
 		}
-		Map<String, String> attributes = getAttributes(result);
+		Map<String, String> attributes = TestNGCapabilities.getAttributes(result.getMethod());
 		if (!attributes.isEmpty()) {
 			delegate.reportingEntryPublished(progress.descriptor, ReportEntry.from(attributes));
 		}
+		progress.invocationEvents.open();
 	}
 
 	private void reportFinished(ITestResult result, TestExecutionResult executionResult) {
-		MethodProgress progress = inProgressTestMethods.get(result.getMethod());
-		if (progress.descriptor.getType().isContainer() && progress.invocations.containsKey(result)) {
-			InvocationDescriptor invocationDescriptor = progress.invocations.remove(result);
-			delegate.executionFinished(invocationDescriptor, executionResult);
+		MethodProgress progress = inProgressTestMethods.get(findOrCreateMethodDescriptor(result).getId());
+		if (progress.descriptor.getType().isContainer()) {
+			progress.invocationEvents.execute(() -> finishInvocation(progress, result, executionResult));
 		}
 		else {
-			inProgressTestMethods.remove(result.getMethod());
+			inProgressTestMethods.remove(progress.descriptor.getId());
 			delegate.executionFinished(progress.descriptor, executionResult);
 		}
 	}
 
-	private MethodDescriptor findOrCreateMethodDescriptor(ITestResult result) {
+	private void finishInvocation(MethodProgress progress, ITestResult result, TestExecutionResult executionResult) {
+		if (progress.summary != null) {
+			reportAggregatedInvocationFinished(progress, result, executionResult);
+			return;
+		}
+		int slot = progress.invocations.find(result);
+		if (slot >= 0) {
+			InvocationDescriptor invocationDescriptor = progress.invocations.descriptorAt(slot);
+			progress.invocations.removeAt(slot);
+			reportInvocationFinished(invocationDescriptor, executionResult);
+		}
+		else {
+			inProgressTestMethods.remove(progress.descriptor.getId());
+			delegate.executionFinished(progress.descriptor, executionResult);
+		}
+	}
+
+	private void reportAggregatedInvocationFinished(MethodProgress progress, ITestResult result,
+			TestExecutionResult executionResult) {
+		int slot = progress.invocations.find(result);
+		int invocationIndex;
+		if (slot >= 0) {
+			invocationIndex = progress.invocations.invocationIndexAt(slot);
+			progress.invocations.removeAt(slot);
+		}
+		else {
+			invocationIndex = progress.invocationIndex.getAndIncrement();
+		}
+		progress.summary.record(invocationIndex, executionResult.getStatus(),
+			result.getEndMillis() - result.getStartMillis());
+		if (executionResult.getStatus() == TestExecutionResult.Status.FAILED) {
+			InvocationDescriptor invocationDescriptor = registerInvocationAndReportStarted(progress, invocationIndex,
+				result);
+			reportInvocationFinished(invocationDescriptor, executionResult);
+		}
+	}
+
+	/**
+	 * Resolve the descriptor of the supplied result's method. Since this happens for every invocation, resolved
+	 * descriptors are cached by method identity so lookups after the first one neither lock nor allocate. As TestNG
+	 * creates separate method objects for each test instance, the identity of the method implies that of the instance.
+	 * Neither {@link ITestNGMethod#hashCode()} nor {@link ITestResult#getInstance()} are used here because they
+	 * allocate in some versions of TestNG.
+	 */
+	MethodDescriptor findOrCreateMethodDescriptor(ITestResult result) {
+		ITestNGMethod method = result.getMethod();
+		ResolvedMethod resolved = resolvedMethods.get(method);
+		if (resolved == null) {
+			resolved = resolveMethodDescriptor(method, result);
+		}
+		return resolved.awaitDescriptor();
+	}
+
+	/**
+	 * Dynamic method descriptors are registered by the first thread that resolves them without holding any lock while
+	 * notifying the delegate; other threads resolving the same descriptor wait until it has been registered so they
+	 * can't report it as started before.
+	 */
+	private ResolvedMethod resolveMethodDescriptor(ITestNGMethod method, ITestResult result) {
 		ClassDescriptor classDescriptor = testClassRegistry.get(result.getTestClass().getRealClass()) //
 				.orElseThrow(() -> new IllegalStateException("Missing class descriptor for " + result.getTestClass()));
 		Optional<MethodDescriptor> methodDescriptor = classDescriptor.findMethodDescriptor(result);
 		if (methodDescriptor.isPresent()) {
-			return methodDescriptor.get();
+			ResolvedMethod dynamicMethod = dynamicMethods.get(methodDescriptor.get().getUniqueId());
+			return cache(method, dynamicMethod != null //
+					? dynamicMethod //
+					: new ResolvedMethod(classDescriptor, methodDescriptor.get()));
 		}
 		MethodDescriptor dynamicMethodDescriptor = getTestDescriptorFactory() //
 				.createMethodDescriptor(classDescriptor, result);
+		ResolvedMethod dynamicMethod = new ResolvedMethod(classDescriptor, null);
+		ResolvedMethod existing = dynamicMethods.putIfAbsent(dynamicMethodDescriptor.getUniqueId(), dynamicMethod);
+		if (existing != null) {
+			return cache(method, existing);
+		}
 		classDescriptor.addChild(dynamicMethodDescriptor);
-		delegate.dynamicTestRegistered(dynamicMethodDescriptor);
-		return dynamicMethodDescriptor;
+		try {
+			delegate.dynamicTestRegistered(dynamicMethodDescriptor);
+		}
+		finally {
+			dynamicMethod.complete(dynamicMethodDescriptor);
+		}
+		return cache(method, dynamicMethod);
+	}
+
+	private ResolvedMethod cache(ITestNGMethod method, ResolvedMethod resolved) {
+		ResolvedMethod existing = resolvedMethods.putIfAbsent(method, resolved);
+		return existing == null ? resolved : existing;
 	}
 
 	private void createInvocationAndReportStarted(MethodProgress progress, int invocationIndex, ITestResult result) {
+		InvocationDescriptor invocationDescriptor = registerInvocationAndReportStarted(progress, invocationIndex,
+			result);
+		progress.invocations.put(result, invocationIndex, invocationDescriptor);
+	}
+
+	private InvocationDescriptor registerInvocationAndReportStarted(MethodProgress progress, int invocationIndex,
+			ITestResult result) {
 		InvocationDescriptor invocationDescriptor = getTestDescriptorFactory().createInvocationDescriptor(
 			progress.descriptor, result, invocationIndex);
-		progress.invocations.put(result, invocationDescriptor);
 		progress.descriptor.addChild(invocationDescriptor);
 		delegate.dynamicTestRegistered(invocationDescriptor);
 		delegate.executionStarted(invocationDescriptor);
+		return invocationDescriptor;
+	}
+
+	private void reportInvocationFinished(InvocationDescriptor invocationDescriptor,
+			TestExecutionResult executionResult) {
+		delegate.executionFinished(invocationDescriptor, executionResult);
 	}
 
 	private TestDescriptorFactory getTestDescriptorFactory() {
@@ -239,60 +442,137 @@ class ExecutionListener extends DefaultListener {
 	}
 
 	public TestExecutionResult toEngineResult() {
-		TestExecutionResult testExecutionResult = toTestExecutionResult(engineLevelFailureResults);
-		if (testExecutionResult.getStatus() == SUCCESSFUL && skipException != null) {
-			return aborted(skipException);
+		TestExecutionResult testExecutionResult = toTestExecutionResult(engineLevelFailures);
+		if (testExecutionResult.getStatus() == SUCCESSFUL && (skipException != null || cancellation.isRequested())) {
+			return aborted(getOrCreateSkipException());
 		}
 		return testExecutionResult;
 	}
 
-	private TestExecutionResult toTestExecutionResult(Set<ITestResult> results) {
-		return results == null || results.isEmpty() ? successful() : abortedOrFailed(results);
+	private TestExecutionResult toClassResult(Collection<ConfigurationFailure> failures) {
+		TestExecutionResult result = toTestExecutionResult(failures);
+		if (result.getStatus() == ABORTED && !result.getThrowable().isPresent()) {
+			// configuration methods are skipped without a throwable if an engine-level one prevented them
+			return engineLevelFailures.stream() //
+					.filter(it -> it.preventsTests && it.throwable != null) //
+					.findFirst() //
+					.map(it -> aborted(it.throwable)) //
+					.orElse(result);
+		}
+		return result;
 	}
 
-	private static TestExecutionResult abortedOrFailed(Set<ITestResult> results) {
-		return results.stream().allMatch(it -> it.getStatus() == ITestResult.SKIP) //
-				? aborted(chain(throwables(results))) //
-				: failed(chain(throwables(results)));
+	private TestExecutionResult toTestExecutionResult(Collection<ConfigurationFailure> failures) {
+		return failures == null || failures.isEmpty() ? successful() : abortedOrFailed(failures);
 	}
 
-	private static Stream<Throwable> throwables(Set<ITestResult> results) {
-		return results.stream().map(ITestResult::getThrowable).filter(Objects::nonNull);
+	private TestExecutionResult abortedOrFailed(Collection<ConfigurationFailure> failures) {
+		return failures.stream().allMatch(it -> it.skipped) //
+				? aborted(failureCompaction.chain(throwables(failures))) //
+				: failed(failureCompaction.chain(throwables(failures)));
 	}
 
-	private static Throwable chain(Stream<Throwable> failures) {
-		Iterator<Throwable> iterator = failures.iterator();
-		Throwable throwable = null;
-		if (iterator.hasNext()) {
-			throwable = iterator.next();
-			iterator.forEachRemaining(throwable::addSuppressed);
+	private List<Throwable> throwables(Collection<ConfigurationFailure> failures) {
+		return failures.stream() //
+				.map(it -> it.throwable) //
+				.filter(Objects::nonNull) //
+				.map(failureCompaction::compact) //
+				.distinct() //
+				.collect(toList());
+	}
+
+	private static final class ResolvedMethod {
+		final ClassDescriptor classDescriptor;
+		private volatile MethodDescriptor descriptor;
+
+		ResolvedMethod(ClassDescriptor classDescriptor, MethodDescriptor descriptor) {
+			this.classDescriptor = classDescriptor;
+			this.descriptor = descriptor;
+		}
+
+		MethodDescriptor awaitDescriptor() {
+			MethodDescriptor result = descriptor;
+			if (result != null) {
+				return result;
+			}
+			boolean interrupted = false;
+			synchronized (this) {
+				while (descriptor == null) {
+					try {
+						wait();
+					}
+					catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+			return descriptor;
+		}
+
+		synchronized void complete(MethodDescriptor descriptor) {
+			this.descriptor = descriptor;
+			notifyAll();
 		}
-		return throwable;
 	}
 
 	static class MethodProgress {
 		final ITestNGMethod method;
 		final MethodDescriptor descriptor;
-		final ConcurrentMap<ITestResult, InvocationDescriptor> invocations = new ConcurrentHashMap<>();
+		final InvocationTable invocations = new InvocationTable();
 		final AtomicInteger invocationIndex = new AtomicInteger();
-		final CountDownLatch reportedAsStarted = new CountDownLatch(1);
+		final InvocationEventQueue invocationEvents = new InvocationEventQueue();
+		final InvocationSummary summary;
 
 		public MethodProgress(ITestNGMethod method, MethodDescriptor descriptor) {
 			this.method = method;
 			this.descriptor = descriptor;
+			this.summary = descriptor.getType() == Type.CONTAINER_AND_TEST ? new InvocationSummary() : null;
 		}
 	}
 
-	private Map<String, String> getAttributes(ITestResult result) {
-		try {
-			CustomAttribute[] attributes = result.getMethod().getAttributes();
-			if (attributes.length > 0) {
-				return Arrays.stream(attributes) //
-						.collect(toMap(CustomAttribute::name, attr -> String.join(", ", attr.values())));
-			}
+	/**
+	 * Outcome of a failed or skipped configuration method that does not retain its {@link ITestResult}, and thereby
+	 * the test instance and parameters, until the enclosing class or the engine is reported as finished.
+	 */
+	static final class ConfigurationFailure {
+		final boolean skipped;
+		final Throwable throwable;
+		final boolean preventsTests;
+		private final Class<?> preventedClass;
+		private final XmlTest preventedTest;
+
+		private ConfigurationFailure(boolean skipped, Throwable throwable, boolean preventsTests,
+				Class<?> preventedClass, XmlTest preventedTest) {
+			this.skipped = skipped;
+			this.throwable = throwable;
+			this.preventsTests = preventsTests;
+			this.preventedClass = preventedClass;
+			this.preventedTest = preventedTest;
+		}
+
+		static ConfigurationFailure from(ITestResult result) {
+			ITestNGMethod method = result.getMethod();
+			boolean preventsTests = method.isBeforeSuiteConfiguration() || method.isBeforeTestConfiguration()
+					|| method.isBeforeClassConfiguration();
+			Class<?> preventedClass = method.isBeforeClassConfiguration() ? result.getTestClass().getRealClass()
+					: null;
+			XmlTest preventedTest = method.isBeforeTestConfiguration() ? result.getTestContext().getCurrentXmlTest()
+					: null;
+			return new ConfigurationFailure(result.getStatus() == ITestResult.SKIP, result.getThrowable(),
+				preventsTests, preventedClass, preventedTest);
 		}
-		catch (NoSuchMethodError ignore) {
+
+		/**
+		 * @return whether the supplied skipped test result was caused by this failure, i.e. it lies within the scope
+		 * of the configuration method and TestNG reports the configuration method's throwable as its cause
+		 */
+		boolean prevents(ITestResult skipped) {
+			return preventsTests && throwable != null && skipped.getThrowable() == throwable
+					&& (preventedClass == null || preventedClass == skipped.getTestClass().getRealClass())
+					&& (preventedTest == null || preventedTest == skipped.getTestContext().getCurrentXmlTest());
 		}
-		return emptyMap();
 	}
 }
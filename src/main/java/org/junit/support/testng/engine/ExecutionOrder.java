@@ -0,0 +1,245 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.UniqueId;
+import org.junit.support.testng.engine.TestNGTestEngine.Configurer;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+
+/**
+ * Determines the order in which test classes and methods are passed to TestNG.
+ * <p>
+ * In {@code failedFirst} mode, classes containing tests that failed in the previous run come first, followed by
+ * classes whose class files were modified since the previous run, followed by all remaining classes. The set of
+ * executed tests is never changed. Since a run may only execute some of the tests, e.g. due to a filtered selection or
+ * cancellation, previously failed tests are only forgotten once they have passed.
+ */
+class ExecutionOrder {
+
+	static final String ORDER_PARAMETER = "testng.execution.order";
+	static final String FAILED_TESTS_FILE_NAME = "testng-engine-failed-tests.txt";
+
+	static final ExecutionOrder DEFAULT = new ExecutionOrder(null, new HashSet<>(), Long.MAX_VALUE);
+
+	private static final Logger LOGGER = Logger.getLogger(ExecutionOrder.class.getName());
+	private static final String RUN_STARTED_PREFIX = "# run started at ";
+
+	private static final int PREVIOUSLY_FAILED = 0;
+	private static final int RECENTLY_CHANGED = 1;
+	private static final int UNCHANGED = 2;
+
+	private final Path failedTestsFile;
+	private final Set<UniqueId> previouslyFailedTests;
+	private final long previousRunStartedAt;
+	private final long runStartedAt = System.currentTimeMillis();
+	private final Set<UniqueId> failedTests = ConcurrentHashMap.newKeySet();
+	private final Set<UniqueId> passedTests = ConcurrentHashMap.newKeySet();
+
+	static ExecutionOrder from(ConfigurationParameters config) {
+		String mode = config.get(ORDER_PARAMETER).map(String::trim).orElse("default");
+		switch (mode) {
+			case "default":
+				return DEFAULT;
+			case "failedFirst":
+				return readPreviousRun(TestNGTestEngine.outputDirectory(config).resolve(FAILED_TESTS_FILE_NAME));
+			default:
+				throw new IllegalArgumentException("Unsupported value for " + ORDER_PARAMETER + ": " + mode);
+		}
+	}
+
+	private static ExecutionOrder readPreviousRun(Path failedTestsFile) {
+		Set<UniqueId> previouslyFailedTests = new LinkedHashSet<>();
+		long previousRunStartedAt = Long.MAX_VALUE;
+		if (Files.isRegularFile(failedTestsFile)) {
+			try {
+				for (String line : Files.readAllLines(failedTestsFile, UTF_8)) {
+					if (line.startsWith(RUN_STARTED_PREFIX)) {
+						previousRunStartedAt = Long.parseLong(line.substring(RUN_STARTED_PREFIX.length()).trim());
+					}
+					else if (!line.trim().isEmpty()) {
+						previouslyFailedTests.add(UniqueId.parse(line.trim()));
+					}
+				}
+			}
+			catch (Exception e) {
+				LOGGER.log(Level.WARNING, e, () -> "Ignoring unreadable file " + failedTestsFile);
+			}
+		}
+		return new ExecutionOrder(failedTestsFile, previouslyFailedTests, previousRunStartedAt);
+	}
+
+	private ExecutionOrder(Path failedTestsFile, Set<UniqueId> previouslyFailedTests, long previousRunStartedAt) {
+		this.failedTestsFile = failedTestsFile;
+		this.previouslyFailedTests = previouslyFailedTests;
+		this.previousRunStartedAt = previousRunStartedAt;
+	}
+
+	List<ClassDescriptor> orderClasses(Collection<ClassDescriptor> classDescriptors) {
+		if (this == DEFAULT) {
+			return new ArrayList<>(classDescriptors);
+		}
+		Map<ClassDescriptor, Integer> priorities = new HashMap<>();
+		classDescriptors.forEach(it -> priorities.put(it, priority(it)));
+		return classDescriptors.stream().sorted(comparingInt(priorities::get)).collect(toList());
+	}
+
+	List<MethodDescriptor> orderMethods(Collection<MethodDescriptor> methodDescriptors) {
+		if (this == DEFAULT) {
+			return new ArrayList<>(methodDescriptors);
+		}
+		return methodDescriptors.stream() //
+				.sorted(comparingInt(it -> previouslyFailed(it) ? PREVIOUSLY_FAILED : UNCHANGED)) //
+				.collect(toList());
+	}
+
+	private int priority(ClassDescriptor classDescriptor) {
+		if (previouslyFailed(classDescriptor)) {
+			return PREVIOUSLY_FAILED;
+		}
+		return lastModified(classDescriptor.getTestClass()) > previousRunStartedAt ? RECENTLY_CHANGED : UNCHANGED;
+	}
+
+	private boolean previouslyFailed(TestDescriptor descriptor) {
+		UniqueId uniqueId = descriptor.getUniqueId();
+		return previouslyFailedTests.stream().anyMatch(it -> it.hasPrefix(uniqueId));
+	}
+
+	private static long lastModified(Class<?> testClass) {
+		String name = testClass.getName();
+		URL resource = testClass.getResource(name.substring(name.lastIndexOf('.') + 1) + ".class");
+		if (resource != null) {
+			try {
+				return resource.openConnection().getLastModified();
+			}
+			catch (IOException ignore) {
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * TestNG does not retain the order of methods specified on the command line, so the classes and methods of the
+	 * generated suites are sorted and re-indexed to be executed in the supplied order when order is preserved.
+	 */
+	Configurer enforceOrder(List<String> qualifiedMethodNames) {
+		if (this == DEFAULT) {
+			return new Configurer() {
+			};
+		}
+		Map<String, Integer> positions = new HashMap<>();
+		for (String qualifiedMethodName : qualifiedMethodNames) {
+			positions.putIfAbsent(qualifiedMethodName, positions.size());
+			positions.putIfAbsent(qualifiedMethodName.substring(0, qualifiedMethodName.lastIndexOf('.')),
+				positions.size());
+		}
+		DefaultListener listener = new DefaultListener() {
+			@Override
+			public void alter(List<XmlSuite> suites) {
+				suites.stream() //
+						.flatMap(suite -> suite.getTests().stream()) //
+						.forEach(test -> test.setXmlClasses(sortClasses(test.getXmlClasses(), positions)));
+			}
+		};
+		return new Configurer() {
+			@Override
+			public void configure(TestNG testNG, ConfigurationParameters config) {
+				testNG.addListener(listener);
+			}
+		};
+	}
+
+	private static List<XmlClass> sortClasses(List<XmlClass> xmlClasses, Map<String, Integer> positions) {
+		List<XmlClass> result = xmlClasses.stream() //
+				.sorted(comparingInt(it -> positions.getOrDefault(it.getName(), Integer.MAX_VALUE))) //
+				.collect(toList());
+		for (int i = 0; i < result.size(); i++) {
+			XmlClass xmlClass = result.get(i);
+			xmlClass.setIndex(i);
+			List<XmlInclude> includes = xmlClass.getIncludedMethods().stream() //
+					.sorted(comparingInt(
+						it -> positions.getOrDefault(xmlClass.getName() + "." + it.getName(), Integer.MAX_VALUE))) //
+					.collect(toList());
+			List<XmlInclude> reindexedIncludes = new ArrayList<>();
+			for (XmlInclude include : includes) {
+				XmlInclude reindexedInclude = new XmlInclude(include.getName(), include.getInvocationNumbers(),
+					reindexedIncludes.size());
+				reindexedInclude.setParameters(include.getLocalParameters());
+				reindexedIncludes.add(reindexedInclude);
+			}
+			xmlClass.setIncludedMethods(reindexedIncludes);
+		}
+		return result;
+	}
+
+	EngineExecutionListener recordFailures(EngineExecutionListener delegate) {
+		if (this == DEFAULT) {
+			return delegate;
+		}
+		return new DelegatingEngineExecutionListener(delegate) {
+			@Override
+			public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+				if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED) {
+					failedTests.add(testDescriptor.getUniqueId());
+				}
+				else if (testExecutionResult.getStatus() == TestExecutionResult.Status.SUCCESSFUL) {
+					passedTests.add(testDescriptor.getUniqueId());
+				}
+				super.executionFinished(testDescriptor, testExecutionResult);
+			}
+		};
+	}
+
+	void persist() {
+		if (this == DEFAULT) {
+			return;
+		}
+		Set<UniqueId> stillFailedTests = new LinkedHashSet<>(previouslyFailedTests);
+		stillFailedTests.removeAll(passedTests);
+		stillFailedTests.addAll(failedTests);
+		List<String> lines = new ArrayList<>();
+		lines.add(RUN_STARTED_PREFIX + runStartedAt);
+		stillFailedTests.forEach(uniqueId -> lines.add(uniqueId.toString()));
+		try {
+			Files.createDirectories(failedTestsFile.toAbsolutePath().getParent());
+			Files.write(failedTestsFile, lines, UTF_8);
+		}
+		catch (IOException e) {
+			LOGGER.log(Level.WARNING, e, () -> "Failed to write " + failedTestsFile);
+		}
+	}
+}
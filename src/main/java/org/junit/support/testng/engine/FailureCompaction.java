@@ -0,0 +1,222 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.opentest4j.MultipleFailuresError;
+
+/**
+ * Compacts the throwables of failed and aborted tests when many of them fail for the same reason, e.g. because a
+ * shared dependency is unavailable.
+ * <p>
+ * Throwables are fingerprinted by their types, messages, and stack traces without frames of TestNG, reflection, and
+ * the engine, including those of their causes and suppressed exceptions. The first throwable with a given fingerprint
+ * becomes its canonical failure and subsequent ones are replaced by it so that reports and listeners retain a single
+ * copy. Throwables are never modified since tests and other listeners may still hold them. The numbers of distinct and
+ * compacted failures are published as a report entry of the engine.
+ */
+class FailureCompaction {
+
+	static final String ENABLED_PARAMETER = "testng.reporting.failures.compact";
+
+	static final FailureCompaction DISABLED = new FailureCompaction();
+
+	private static final int MAX_FINGERPRINTS = 10_000;
+	private static final String[] TRIMMED_FRAME_PREFIXES = { "org.testng.", "org.junit.platform.",
+			"org.junit.support.testng.engine.", "java.lang.reflect.", "java.lang.invoke.", "jdk.internal.reflect.",
+			"sun.reflect." };
+	private static final String[] RETAINED_FRAME_PREFIXES = { "org.testng.Assert", "org.testng.asserts." };
+
+	private final Map<Fingerprint, Throwable> canonicalFailures = new ConcurrentHashMap<>();
+	private final AtomicInteger compactedFailures = new AtomicInteger();
+
+	static FailureCompaction from(ConfigurationParameters config) {
+		return config.getBoolean(ENABLED_PARAMETER).orElse(false) ? new FailureCompaction() : DISABLED;
+	}
+
+	private FailureCompaction() {
+	}
+
+	/**
+	 * Compact the throwables of results reported as finished to the supplied listener.
+	 */
+	EngineExecutionListener compactFailures(EngineExecutionListener delegate) {
+		if (this == DISABLED) {
+			return delegate;
+		}
+		return new DelegatingEngineExecutionListener(delegate) {
+			@Override
+			public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+				super.executionFinished(testDescriptor, compact(testExecutionResult));
+			}
+		};
+	}
+
+	private TestExecutionResult compact(TestExecutionResult result) {
+		Throwable throwable = result.getThrowable().orElse(null);
+		if (throwable == null) {
+			return result;
+		}
+		Throwable compacted = compact(throwable);
+		if (compacted == throwable) {
+			return result;
+		}
+		return result.getStatus() == TestExecutionResult.Status.FAILED //
+				? TestExecutionResult.failed(compacted) //
+				: TestExecutionResult.aborted(compacted);
+	}
+
+	/**
+	 * @return the canonical failure if the supplied throwable is a repetition of it; otherwise, the supplied throwable
+	 */
+	Throwable compact(Throwable throwable) {
+		if (this == DISABLED) {
+			return throwable;
+		}
+		Fingerprint fingerprint = new Fingerprint(throwable, Collections.newSetFromMap(new IdentityHashMap<>()));
+		Throwable canonical = canonicalFailures.size() < MAX_FINGERPRINTS
+				? canonicalFailures.putIfAbsent(fingerprint, throwable)
+				: canonicalFailures.get(fingerprint);
+		if (canonical == null || canonical == throwable) {
+			return throwable;
+		}
+		compactedFailures.incrementAndGet();
+		return canonical;
+	}
+
+	/**
+	 * Chain the supplied throwables into a single one by adding all but the first as suppressed exceptions. Since
+	 * compacted throwables may be canonical failures that are shared with other results, they are added to a new
+	 * {@link MultipleFailuresError} instead of being modified.
+	 *
+	 * @return the chained throwable or {@code null} if none were supplied
+	 */
+	Throwable chain(List<Throwable> throwables) {
+		if (throwables.size() <= 1) {
+			return throwables.isEmpty() ? null : throwables.get(0);
+		}
+		Throwable chained = this == DISABLED ? throwables.get(0) : new MultipleFailuresError(null, throwables);
+		for (Throwable throwable : throwables) {
+			if (throwable != chained) {
+				chained.addSuppressed(throwable);
+			}
+		}
+		return chained;
+	}
+
+	private static boolean isTrimmed(String className) {
+		for (String prefix : RETAINED_FRAME_PREFIXES) {
+			if (className.startsWith(prefix)) {
+				return false;
+			}
+		}
+		for (String prefix : TRIMMED_FRAME_PREFIXES) {
+			if (className.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the stack trace of the supplied throwable without frames of TestNG, reflection, and the engine, unless it
+	 * only consists of such frames
+	 */
+	private static List<StackTraceElement> trimmedStackTrace(Throwable throwable) {
+		StackTraceElement[] stackTrace = throwable.getStackTrace();
+		List<StackTraceElement> retained = new ArrayList<>(stackTrace.length);
+		for (StackTraceElement element : stackTrace) {
+			if (!isTrimmed(element.getClassName())) {
+				retained.add(element);
+			}
+		}
+		return retained.isEmpty() ? Arrays.asList(stackTrace) : retained;
+	}
+
+	/**
+	 * @return a report entry with the numbers of distinct and compacted failures, if any failures were compacted
+	 */
+	Optional<ReportEntry> toReportEntry() {
+		if (compactedFailures.get() == 0) {
+			return Optional.empty();
+		}
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put("distinctFailures", String.valueOf(canonicalFailures.size()));
+		values.put("compactedFailures", String.valueOf(compactedFailures.get()));
+		return Optional.of(ReportEntry.from(values));
+	}
+
+	/**
+	 * Type, message, and stack trace without the frames of TestNG, reflection, and the engine of a throwable and of its
+	 * causes and suppressed exceptions, captured when it's compacted since TestNG may trim stack traces later.
+	 */
+	private static final class Fingerprint {
+
+		final Class<?> type;
+		final String message;
+		final List<StackTraceElement> stackTrace;
+		final Fingerprint cause;
+		final List<Fingerprint> suppressed;
+		final int hashCode;
+
+		Fingerprint(Throwable throwable, Set<Throwable> visited) {
+			visited.add(throwable);
+			this.type = throwable.getClass();
+			this.message = throwable.getMessage();
+			this.stackTrace = trimmedStackTrace(throwable);
+			Throwable cause = throwable.getCause();
+			this.cause = cause == null || visited.contains(cause) ? null : new Fingerprint(cause, visited);
+			this.suppressed = new ArrayList<>();
+			for (Throwable suppressed : throwable.getSuppressed()) {
+				if (!visited.contains(suppressed)) {
+					this.suppressed.add(new Fingerprint(suppressed, visited));
+				}
+			}
+			this.hashCode = Objects.hash(type, message, stackTrace, this.cause, this.suppressed);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Fingerprint)) {
+				return false;
+			}
+			Fingerprint other = (Fingerprint) obj;
+			return hashCode == other.hashCode && type == other.type && Objects.equals(message, other.message)
+					&& stackTrace.equals(other.stackTrace) && Objects.equals(cause, other.cause)
+					&& suppressed.equals(other.suppressed);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
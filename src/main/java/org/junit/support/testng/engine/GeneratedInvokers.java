@@ -0,0 +1,216 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ITestResult;
+
+/**
+ * Invokes test methods via invokers generated by {@link LambdaMetafactory} instead of reflection, so that the JIT can
+ * inline the test bodies of short tests that are invoked many times, e.g. by data providers.
+ * <p>
+ * An invoker is generated and cached the first time a test method is invoked. Its invocation casts and unboxes the
+ * arguments to the parameter types of the method and calls it without a varargs array. Methods that are static, not
+ * accessible via a public lookup, declared by classes that are not visible from the engine's class loader, or that
+ * have more than {@value #MAX_PARAMETERS} parameters are invoked by TestNG as usual. So are invocations with
+ * arguments that reflection would have to convert, e.g. by widening, so that their outcome doesn't change. Since
+ * TestNG supports a single global {@link IHookable}, this one is not used if another one is registered via
+ * {@code testng.listeners} and is called by {@link VirtualThreadTimeouts} if both are enabled.
+ */
+class GeneratedInvokers implements IHookable {
+
+	static final String ENABLED_PARAMETER = "testng.execution.generatedInvokers";
+
+	private static final Logger LOGGER = Logger.getLogger(GeneratedInvokers.class.getName());
+	private static final int MAX_PARAMETERS = 4;
+	private static final Invoker NOT_GENERATED = new Invoker(Object.class, new Class<?>[0], new Class<?>[0],
+		(instance, args) -> {
+		});
+
+	private final Map<Method, Invoker> invokers = new ConcurrentHashMap<>();
+
+	static Optional<GeneratedInvokers> from(ConfigurationParameters config) {
+		if (!config.getBoolean(ENABLED_PARAMETER).orElse(false)) {
+			return Optional.empty();
+		}
+		if (config.get("testng.listeners").filter(VirtualThreadTimeouts::containsHookable).isPresent()) {
+			LOGGER.warning(() -> "Ignoring " + ENABLED_PARAMETER
+					+ " since a custom IHookable is registered via testng.listeners; tests are invoked by TestNG");
+			return Optional.empty();
+		}
+		return Optional.of(new GeneratedInvokers());
+	}
+
+	@Override
+	public void run(IHookCallBack callBack, ITestResult testResult) {
+		Method method = testResult.getMethod().getConstructorOrMethod().getMethod();
+		Invoker invoker = method == null ? NOT_GENERATED : invokers.computeIfAbsent(method, Invoker::generate);
+		Object instance = testResult.getInstance();
+		Object[] arguments = callBack.getParameters();
+		if (invoker == NOT_GENERATED || !invoker.accepts(instance, arguments)) {
+			callBack.runTestMethod(testResult);
+			return;
+		}
+		Throwable throwable = null;
+		try {
+			invoker.invocation.invoke(instance, arguments);
+		}
+		catch (Throwable t) {
+			throwable = t;
+		}
+		testResult.setThrowable(throwable);
+		// TestNG reports tests whose callback wasn't called and whose status wasn't changed as skipped
+		testResult.setStatus(throwable == null ? ITestResult.SUCCESS : ITestResult.FAILURE);
+	}
+
+	private static final class Invoker {
+
+		private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+		private static final Class<?>[] FUNCTIONAL_INTERFACES = { Arity0.class, Arity1.class, Arity2.class,
+				Arity3.class, Arity4.class };
+
+		final Class<?> declaringClass;
+		final Class<?>[] parameterTypes;
+		final Class<?>[] argumentTypes;
+		final Invocation invocation;
+
+		private Invoker(Class<?> declaringClass, Class<?>[] parameterTypes, Class<?>[] argumentTypes,
+				Invocation invocation) {
+			this.declaringClass = declaringClass;
+			this.parameterTypes = parameterTypes;
+			this.argumentTypes = argumentTypes;
+			this.invocation = invocation;
+		}
+
+		static Invoker generate(Method method) {
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			if (Modifier.isStatic(method.getModifiers()) || parameterTypes.length > MAX_PARAMETERS
+					|| !isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())
+					|| !Arrays.stream(parameterTypes).allMatch(Invoker::isVisible)) {
+				return NOT_GENERATED;
+			}
+			Class<?>[] argumentTypes = Arrays.stream(parameterTypes) //
+					.map(type -> methodType(type).wrap().returnType()) //
+					.toArray(Class<?>[]::new);
+			Object function;
+			try {
+				MethodHandle implementation = MethodHandles.publicLookup().unreflect(method);
+				Class<?> functionalInterface = FUNCTIONAL_INTERFACES[parameterTypes.length];
+				MethodType erasedType = methodType(void.class, Object.class,
+					methodType(void.class, argumentTypes).erase().parameterArray());
+				MethodType instantiatedType = methodType(void.class, method.getDeclaringClass(), argumentTypes);
+				function = LambdaMetafactory.metafactory(LOOKUP, "invoke", methodType(functionalInterface),
+					erasedType, implementation, instantiatedType).getTarget().invoke();
+			}
+			catch (Throwable t) {
+				LOGGER.fine(() -> "Failed to generate invoker for " + method + ": " + t);
+				return NOT_GENERATED;
+			}
+			return new Invoker(method.getDeclaringClass(), parameterTypes, argumentTypes, toInvocation(function));
+		}
+
+		private static boolean isVisible(Class<?> type) {
+			while (type.isArray()) {
+				type = type.getComponentType();
+			}
+			if (type.isPrimitive()) {
+				return true;
+			}
+			try {
+				return Class.forName(type.getName(), false, GeneratedInvokers.class.getClassLoader()) == type;
+			}
+			catch (ClassNotFoundException | LinkageError e) {
+				return false;
+			}
+		}
+
+		private static Invocation toInvocation(Object function) {
+			if (function instanceof Arity0) {
+				Arity0 arity0 = (Arity0) function;
+				return (instance, args) -> arity0.invoke(instance);
+			}
+			if (function instanceof Arity1) {
+				Arity1 arity1 = (Arity1) function;
+				return (instance, args) -> arity1.invoke(instance, args[0]);
+			}
+			if (function instanceof Arity2) {
+				Arity2 arity2 = (Arity2) function;
+				return (instance, args) -> arity2.invoke(instance, args[0], args[1]);
+			}
+			if (function instanceof Arity3) {
+				Arity3 arity3 = (Arity3) function;
+				return (instance, args) -> arity3.invoke(instance, args[0], args[1], args[2]);
+			}
+			Arity4 arity4 = (Arity4) function;
+			return (instance, args) -> arity4.invoke(instance, args[0], args[1], args[2], args[3]);
+		}
+
+		/**
+		 * @return whether the supplied arguments can be passed as they are, i.e. without a widening conversion
+		 * reflection would apply or an {@link IllegalArgumentException} it would throw
+		 */
+		boolean accepts(Object instance, Object[] arguments) {
+			int length = arguments == null ? 0 : arguments.length;
+			if (!declaringClass.isInstance(instance) || length != parameterTypes.length) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				Object argument = arguments[i];
+				if (argument == null ? parameterTypes[i].isPrimitive() : !argumentTypes[i].isInstance(argument)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	private interface Invocation {
+		void invoke(Object instance, Object[] args) throws Throwable;
+	}
+
+	// the generated functional interfaces throw whatever the test method throws
+
+	private interface Arity0 {
+		void invoke(Object instance) throws Throwable;
+	}
+
+	private interface Arity1 {
+		void invoke(Object instance, Object arg0) throws Throwable;
+	}
+
+	private interface Arity2 {
+		void invoke(Object instance, Object arg0, Object arg1) throws Throwable;
+	}
+
+	private interface Arity3 {
+		void invoke(Object instance, Object arg0, Object arg1, Object arg2) throws Throwable;
+	}
+
+	private interface Arity4 {
+		void invoke(Object instance, Object arg0, Object arg1, Object arg2, Object arg3) throws Throwable;
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Identity-based map key that only weakly references its referent so that map entries don't keep it reachable.
+ */
+final class IdentityKey extends WeakReference<Object> {
+
+	private final int hashCode;
+
+	IdentityKey(Object referent) {
+		super(referent);
+		this.hashCode = System.identityHashCode(referent);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof IdentityKey)) {
+			return false;
+		}
+		Object referent = get();
+		return referent != null && referent == ((IdentityKey) obj).get();
+	}
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+
+/**
+ * Skips tests whose dependencies have not changed since they last passed.
+ * <p>
+ * The dependencies of a test class are determined by {@link DependencyAnalyzer}. For every test class that
+ * finished successfully, the names of its passing test methods and a digest of the contents of all its dependencies
+ * are stored in the output directory. During discovery, test methods that passed in a previous run are pruned if the
+ * digest of their class is unchanged. Test classes that interact with other test classes, e.g. via suite-level
+ * configuration methods, are never pruned since other classes may rely on them.
+ */
+class ImpactAnalysis {
+
+	static final String ENABLED_PARAMETER = "testng.execution.impactAnalysis";
+	static final String STATE_FILE_NAME = "testng-engine-impact-analysis.txt";
+
+	static final ImpactAnalysis DISABLED = new ImpactAnalysis(null, null);
+
+	private static final Logger LOGGER = Logger.getLogger(ImpactAnalysis.class.getName());
+
+	private final Path stateFile;
+	private final DependencyAnalyzer dependencyAnalyzer;
+	private final Map<ClassDescriptor, ClassResults> resultsByClass = new ConcurrentHashMap<>();
+	private final Map<String, Optional<Entry>> updatedEntries = new ConcurrentHashMap<>();
+
+	static ImpactAnalysis from(ConfigurationParameters config, DependencyAnalyzer dependencyAnalyzer) {
+		if (config.getBoolean(ENABLED_PARAMETER).orElse(false)) {
+			return new ImpactAnalysis(TestNGTestEngine.outputDirectory(config).resolve(STATE_FILE_NAME),
+				dependencyAnalyzer);
+		}
+		return DISABLED;
+	}
+
+	private ImpactAnalysis(Path stateFile, DependencyAnalyzer dependencyAnalyzer) {
+		this.stateFile = stateFile;
+		this.dependencyAnalyzer = dependencyAnalyzer;
+	}
+
+	void pruneUnaffected(TestNGEngineDescriptor engineDescriptor) {
+		if (this == DISABLED) {
+			return;
+		}
+		Map<String, Entry> entries = readState();
+		for (ClassDescriptor classDescriptor : engineDescriptor.getClassDescriptors()) {
+			if (TestAnnotationUtils.interactsWithOtherTestClasses(classDescriptor.getTestClass())) {
+				// pruning its tests could drop configuration methods other classes rely on
+				continue;
+			}
+			Entry entry = entries.get(classDescriptor.getTestClass().getName());
+			if (entry == null || !isUnchanged(classDescriptor, entry)) {
+				continue;
+			}
+			List<TestDescriptor> unaffected = new ArrayList<>();
+			for (TestDescriptor child : classDescriptor.getChildren()) {
+				if (entry.passedMethods.contains(toMethodKey(child))) {
+					unaffected.add(child);
+				}
+			}
+			if (!unaffected.isEmpty()) {
+				unaffected.forEach(TestDescriptor::removeFromHierarchy);
+				if (classDescriptor.getChildren().isEmpty()) {
+					classDescriptor.removeFromHierarchy();
+				}
+			}
+		}
+	}
+
+	private boolean isUnchanged(ClassDescriptor classDescriptor, Entry entry) {
+		try {
+			return dependencyAnalyzer.digest(classDescriptor.getTestClass(), entry.dependencies) //
+					.filter(entry.digest::equals) //
+					.isPresent();
+		}
+		catch (UncheckedIOException e) {
+			LOGGER.log(Level.WARNING, e, () -> "Failed to analyze dependencies of " + classDescriptor.getTestClass());
+			return false;
+		}
+	}
+
+	EngineExecutionListener recordResults(EngineExecutionListener delegate) {
+		if (this == DISABLED) {
+			return delegate;
+		}
+		return new DelegatingEngineExecutionListener(delegate) {
+			@Override
+			public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+				if (testDescriptor instanceof ClassDescriptor) {
+					classFinished((ClassDescriptor) testDescriptor, testExecutionResult);
+				}
+				else {
+					testFinished(testDescriptor, testExecutionResult);
+				}
+				super.executionFinished(testDescriptor, testExecutionResult);
+			}
+		};
+	}
+
+	private void testFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+		TestDescriptor methodDescriptor = testDescriptor;
+		while (methodDescriptor != null && !(methodDescriptor instanceof MethodDescriptor)) {
+			methodDescriptor = methodDescriptor.getParent().orElse(null);
+		}
+		if (methodDescriptor == null || !methodDescriptor.getParent().isPresent()) {
+			return;
+		}
+		ClassResults results = resultsByClass.computeIfAbsent(
+			(ClassDescriptor) methodDescriptor.getParent().get(), __ -> new ClassResults());
+		String methodKey = toMethodKey(methodDescriptor);
+		if (testExecutionResult.getStatus() != TestExecutionResult.Status.SUCCESSFUL) {
+			results.failedMethods.add(methodKey);
+		}
+		else if (methodDescriptor == testDescriptor) {
+			results.passedMethods.add(methodKey);
+		}
+	}
+
+	private void classFinished(ClassDescriptor classDescriptor, TestExecutionResult testExecutionResult) {
+		ClassResults results = resultsByClass.remove(classDescriptor);
+		String className = classDescriptor.getTestClass().getName();
+		if (testExecutionResult.getStatus() != TestExecutionResult.Status.SUCCESSFUL
+				|| TestAnnotationUtils.interactsWithOtherTestClasses(classDescriptor.getTestClass())) {
+			updatedEntries.put(className, Optional.empty());
+			return;
+		}
+		if (results == null) {
+			// none of its tests were executed, e.g. since its results were replayed by ResultCache
+			return;
+		}
+		try {
+			Set<String> dependencies = dependencyAnalyzer.dependencies(classDescriptor.getTestClass());
+			Optional<String> digest = dependencyAnalyzer.digest(classDescriptor.getTestClass(), dependencies);
+			if (!digest.isPresent()) {
+				updatedEntries.put(className, Optional.empty());
+				return;
+			}
+			Set<String> passedMethods = new TreeSet<>(results.passedMethods);
+			passedMethods.removeAll(results.failedMethods);
+			updatedEntries.put(className,
+				Optional.of(new Entry(digest.get(), dependencies, passedMethods, results.failedMethods)));
+		}
+		catch (UncheckedIOException e) {
+			LOGGER.log(Level.WARNING, e, () -> "Failed to analyze dependencies of " + className);
+			updatedEntries.put(className, Optional.empty());
+		}
+	}
+
+	void persist() {
+		if (this == DISABLED || updatedEntries.isEmpty()) {
+			return;
+		}
+		Map<String, Entry> entries = new TreeMap<>(readState());
+		updatedEntries.forEach((className, updatedEntry) -> {
+			if (updatedEntry.isPresent()) {
+				Entry previousEntry = entries.get(className);
+				entries.put(className, updatedEntry.get().mergeWith(previousEntry));
+			}
+			else {
+				entries.remove(className);
+			}
+		});
+		List<String> lines = new ArrayList<>();
+		entries.forEach((className, entry) -> {
+			lines.add("class " + className + " " + entry.digest);
+			entry.dependencies.forEach(it -> lines.add("dependency " + it));
+			entry.passedMethods.forEach(it -> lines.add("passed " + it));
+		});
+		try {
+			Files.createDirectories(stateFile.toAbsolutePath().getParent());
+			Files.write(stateFile, lines, UTF_8);
+		}
+		catch (IOException e) {
+			LOGGER.log(Level.WARNING, e, () -> "Failed to write " + stateFile);
+		}
+	}
+
+	private Map<String, Entry> readState() {
+		Map<String, Entry> entries = new HashMap<>();
+		if (Files.isRegularFile(stateFile)) {
+			try {
+				Entry entry = null;
+				for (String line : Files.readAllLines(stateFile, UTF_8)) {
+					if (line.startsWith("class ")) {
+						String[] parts = line.split(" ");
+						entry = new Entry(parts[2], new TreeSet<>(), new TreeSet<>(), new HashSet<>());
+						entries.put(parts[1], entry);
+					}
+					else if (line.startsWith("dependency ") && entry != null) {
+						entry.dependencies.add(line.substring("dependency ".length()));
+					}
+					else if (line.startsWith("passed ") && entry != null) {
+						entry.passedMethods.add(line.substring("passed ".length()));
+					}
+				}
+			}
+			catch (Exception e) {
+				LOGGER.log(Level.WARNING, e, () -> "Ignoring unreadable file " + stateFile);
+				entries.clear();
+			}
+		}
+		return entries;
+	}
+
+	private static String toMethodKey(TestDescriptor methodDescriptor) {
+		return methodDescriptor.getUniqueId().getLastSegment().getValue();
+	}
+
+	private static class ClassResults {
+		final Set<String> passedMethods = ConcurrentHashMap.newKeySet();
+		final Set<String> failedMethods = ConcurrentHashMap.newKeySet();
+	}
+
+	private static class Entry {
+		final String digest;
+		final Set<String> dependencies;
+		final Set<String> passedMethods;
+		final Set<String> failedMethods;
+
+		Entry(String digest, Set<String> dependencies, Set<String> passedMethods, Set<String> failedMethods) {
+			this.digest = digest;
+			this.dependencies = dependencies;
+			this.passedMethods = passedMethods;
+			this.failedMethods = failedMethods;
+		}
+
+		/**
+		 * Methods that were pruned from this run keep their previous result as long as the digest is unchanged.
+		 */
+		Entry mergeWith(Entry previousEntry) {
+			if (previousEntry != null && previousEntry.digest.equals(digest)) {
+				for (String method : previousEntry.passedMethods) {
+					if (!failedMethods.contains(method)) {
+						passedMethods.add(method);
+					}
+				}
+			}
+			return this;
+		}
+	}
+}
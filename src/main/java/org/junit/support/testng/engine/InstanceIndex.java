@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.testng.IClass;
+
+/**
+ * Positions of the instances of a test class, e.g. those created by a {@code @Factory} method.
+ * <p>
+ * The index is built once per test class so that the position of an instance can be looked up without scanning all
+ * instances for every test result.
+ */
+class InstanceIndex {
+
+	private final IClass testClass;
+	private final Map<Object, Integer> positionsByInstance = new IdentityHashMap<>();
+	private volatile Map<Long, Integer> positionsByHashCode;
+
+	@SuppressWarnings({ "deprecation", "RedundantSuppression" }) // deprecated since 7.10.1
+	InstanceIndex(IClass testClass) {
+		this.testClass = testClass;
+		Object[] instances = testClass.getInstances(true);
+		for (int i = 0; i < instances.length; i++) {
+			positionsByInstance.putIfAbsent(TestNGCapabilities.embeddedInstance(instances[i]), i);
+		}
+	}
+
+	int size() {
+		return positionsByInstance.size();
+	}
+
+	/**
+	 * @return the position of the supplied instance or {@code -1} if it is not an instance of the test class
+	 */
+	int positionOf(Object instance) {
+		Integer position = positionsByInstance.get(instance);
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * @return the position of the first instance with the supplied hash code as reported by
+	 * {@link IClass#getInstanceHashCodes()} or {@code null} if there is none or the test class has only a single
+	 * instance
+	 */
+	Integer positionOfHashCode(long hashCode) {
+		return getPositionsByHashCode().get(hashCode);
+	}
+
+	@SuppressWarnings({ "deprecation", "RedundantSuppression" }) // deprecated since 7.10.1
+	private Map<Long, Integer> getPositionsByHashCode() {
+		Map<Long, Integer> positions = positionsByHashCode;
+		if (positions == null) {
+			positions = new HashMap<>();
+			long[] instanceHashCodes = testClass.getInstanceHashCodes();
+			if (instanceHashCodes.length > 1) {
+				for (int i = 0; i < instanceHashCodes.length; i++) {
+					positions.putIfAbsent(instanceHashCodes[i], i);
+				}
+			}
+			positionsByHashCode = positions;
+		}
+		return positions;
+	}
+}
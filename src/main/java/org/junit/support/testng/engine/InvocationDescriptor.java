@@ -11,10 +11,9 @@
 package org.junit.support.testng.engine;
 
 import org.junit.platform.engine.UniqueId;
-import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
 import org.junit.platform.engine.support.descriptor.MethodSource;
 
-class InvocationDescriptor extends AbstractTestDescriptor {
+class InvocationDescriptor extends ConcurrentTestDescriptor {
 
 	static final String SEGMENT_TYPE = "invoc";
 	private final String legacyReportingName;
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reports the events of the invocations of a test method after the method itself has been reported as started without
+ * blocking the threads that execute the invocations.
+ * <p>
+ * Events submitted before the queue is {@linkplain #open() opened} are queued. Afterwards, events are reported one at
+ * a time in the order they were submitted: the thread that submits an event while no other event is being reported
+ * reports it along with all events that are submitted in the meantime; all other threads return immediately.
+ */
+class InvocationEventQueue implements Executor {
+
+	private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Number of submitted events that have not been reported yet plus one while the queue is not open.
+	 */
+	private final AtomicInteger pending = new AtomicInteger(1);
+	private final AtomicBoolean opened = new AtomicBoolean();
+
+	/**
+	 * Open the queue after the test method has been reported as started and report all events that were submitted
+	 * so far. Has no effect if the queue is already open.
+	 */
+	void open() {
+		if (opened.compareAndSet(false, true) && pending.decrementAndGet() != 0) {
+			drain();
+		}
+	}
+
+	@Override
+	public void execute(Runnable event) {
+		events.add(event);
+		if (pending.getAndIncrement() == 0) {
+			drain();
+		}
+	}
+
+	private void drain() {
+		RuntimeException failure = null;
+		do {
+			try {
+				events.remove().run();
+			}
+			catch (RuntimeException e) {
+				if (failure == null) {
+					failure = e;
+				}
+				else {
+					failure.addSuppressed(e);
+				}
+			}
+		} while (pending.decrementAndGet() != 0);
+		if (failure != null) {
+			throw failure;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.TestDescriptor.Type;
+
+/**
+ * How invocations of data-driven or repeatedly invoked test methods are reported.
+ */
+enum InvocationReporting {
+
+	/**
+	 * Each invocation is reported as a dynamic test underneath its method.
+	 */
+	INDIVIDUAL(Type.CONTAINER),
+
+	/**
+	 * The method is reported as a test; only failing invocations are registered as dynamic tests and a summary of
+	 * all invocations is published as a report entry.
+	 */
+	AGGREGATE(Type.CONTAINER_AND_TEST);
+
+	static final String PARAMETER = "testng.invocations.reporting";
+
+	final Type methodType;
+
+	InvocationReporting(Type methodType) {
+		this.methodType = methodType;
+	}
+
+	static InvocationReporting from(ConfigurationParameters config) {
+		return config.get(PARAMETER) //
+				.map(String::trim) //
+				.map(value -> {
+					for (InvocationReporting candidate : values()) {
+						if (candidate.name().equalsIgnoreCase(value)) {
+							return candidate;
+						}
+					}
+					throw new IllegalArgumentException("Unsupported value for " + PARAMETER + ": " + value);
+				}) //
+				.orElse(INDIVIDUAL);
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * Statistics about the invocations of a test method whose invocations are reported in aggregate.
+ */
+class InvocationSummary {
+
+	static final int MAX_REPORTED_FAILURE_INDICES = 100;
+
+	private final TreeSet<Integer> failureIndices = new TreeSet<>();
+	private int invocations;
+	private int successful;
+	private int aborted;
+	private int failed;
+	private long totalDurationMillis;
+	private long minDurationMillis = Long.MAX_VALUE;
+	private long maxDurationMillis;
+
+	synchronized void record(int invocationIndex, TestExecutionResult.Status status, long durationMillis) {
+		invocations++;
+		switch (status) {
+			case SUCCESSFUL:
+				successful++;
+				break;
+			case ABORTED:
+				aborted++;
+				break;
+			case FAILED:
+				failed++;
+				failureIndices.add(invocationIndex);
+				if (failureIndices.size() > MAX_REPORTED_FAILURE_INDICES) {
+					failureIndices.pollLast();
+				}
+				break;
+		}
+		long duration = Math.max(0, durationMillis);
+		totalDurationMillis += duration;
+		minDurationMillis = Math.min(minDurationMillis, duration);
+		maxDurationMillis = Math.max(maxDurationMillis, duration);
+	}
+
+	synchronized ReportEntry toReportEntry() {
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put("invocations", String.valueOf(invocations));
+		values.put("successful", String.valueOf(successful));
+		values.put("aborted", String.valueOf(aborted));
+		values.put("failed", String.valueOf(failed));
+		if (failed > 0) {
+			StringBuilder indices = new StringBuilder();
+			failureIndices.forEach(index -> indices.append(indices.length() == 0 ? "" : ", ").append(index));
+			if (failed > failureIndices.size()) {
+				indices.append(", ...");
+			}
+			values.put("failedInvocations", indices.toString());
+		}
+		if (invocations > 0) {
+			values.put("totalDurationMillis", String.valueOf(totalDurationMillis));
+			values.put("minDurationMillis", String.valueOf(minDurationMillis));
+			values.put("maxDurationMillis", String.valueOf(maxDurationMillis));
+			values.put("meanDurationMillis", String.valueOf(totalDurationMillis / invocations));
+		}
+		return ReportEntry.from(values);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import org.testng.ITestResult;
+
+/**
+ * Invocations of a test method that are in progress, keyed by the identity of their {@link ITestResult}.
+ * <p>
+ * Uses open addressing in parallel arrays so that neither keys nor invocation indices have to be wrapped. Not
+ * thread-safe; all access is serialized by the {@link InvocationEventQueue} of the test method.
+ */
+class InvocationTable {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private ITestResult[] results = new ITestResult[INITIAL_CAPACITY];
+	private int[] invocationIndices = new int[INITIAL_CAPACITY];
+	private InvocationDescriptor[] descriptors = new InvocationDescriptor[INITIAL_CAPACITY];
+	private int size;
+
+	void put(ITestResult result, int invocationIndex, InvocationDescriptor descriptor) {
+		if (2 * (size + 1) > results.length) {
+			resize(results.length * 2);
+		}
+		int slot = slotOf(result, results);
+		if (results[slot] == null) {
+			size++;
+		}
+		results[slot] = result;
+		invocationIndices[slot] = invocationIndex;
+		descriptors[slot] = descriptor;
+	}
+
+	/**
+	 * @return the slot of the supplied result or {@code -1} if it is not in the table
+	 */
+	int find(ITestResult result) {
+		int slot = slotOf(result, results);
+		return results[slot] == null ? -1 : slot;
+	}
+
+	int invocationIndexAt(int slot) {
+		return invocationIndices[slot];
+	}
+
+	InvocationDescriptor descriptorAt(int slot) {
+		return descriptors[slot];
+	}
+
+	/**
+	 * Remove the entry in the supplied slot and move subsequent entries of the same probe sequence backwards so that
+	 * lookups don't need tombstones.
+	 */
+	void removeAt(int slot) {
+		int mask = results.length - 1;
+		int hole = slot;
+		int current = (slot + 1) & mask;
+		while (results[current] != null) {
+			int home = hash(results[current]) & mask;
+			if (((current - home) & mask) >= ((current - hole) & mask)) {
+				results[hole] = results[current];
+				invocationIndices[hole] = invocationIndices[current];
+				descriptors[hole] = descriptors[current];
+				hole = current;
+			}
+			current = (current + 1) & mask;
+		}
+		results[hole] = null;
+		descriptors[hole] = null;
+		size--;
+	}
+
+	private void resize(int capacity) {
+		ITestResult[] oldResults = results;
+		int[] oldInvocationIndices = invocationIndices;
+		InvocationDescriptor[] oldDescriptors = descriptors;
+		results = new ITestResult[capacity];
+		invocationIndices = new int[capacity];
+		descriptors = new InvocationDescriptor[capacity];
+		for (int i = 0; i < oldResults.length; i++) {
+			if (oldResults[i] != null) {
+				int slot = slotOf(oldResults[i], results);
+				results[slot] = oldResults[i];
+				invocationIndices[slot] = oldInvocationIndices[i];
+				descriptors[slot] = oldDescriptors[i];
+			}
+		}
+	}
+
+	private static int slotOf(ITestResult result, ITestResult[] results) {
+		int mask = results.length - 1;
+		int slot = hash(result) & mask;
+		while (results[slot] != null && results[slot] != result) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int hash(ITestResult result) {
+		int hash = System.identityHashCode(result);
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -10,71 +10,70 @@
 
 package org.junit.support.testng.engine;
 
-import static java.util.Collections.unmodifiableSet;
-import static org.junit.platform.commons.support.ClassSupport.nullSafeToString;
-
+import java.util.Optional;
 import java.util.Set;
 
+import org.junit.platform.engine.TestSource;
 import org.junit.platform.engine.TestTag;
 import org.junit.platform.engine.UniqueId;
-import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
 import org.junit.platform.engine.support.descriptor.MethodSource;
 import org.testng.ITestResult;
-import org.testng.internal.IParameterInfo;
 
-class MethodDescriptor extends AbstractTestDescriptor {
+/**
+ * Descriptor of a test method.
+ * <p>
+ * Since test plans may contain hundreds of thousands of methods, this class only retains what can't be shared with
+ * other descriptors: tags are immutable sets shared by all methods in the same groups, parameter type names are
+ * interned by {@link TestDescriptorFactory}, and the {@link MethodSource} is derived on demand.
+ */
+class MethodDescriptor extends ConcurrentTestDescriptor {
 
 	static final String SEGMENT_TYPE = "method";
 
-	final MethodSignature methodSignature;
+	private final Class<?> sourceClass;
+	private final String methodName;
+	private final String parameterTypeNames;
+	private final int id;
 	private final Set<TestTag> tags;
 	private final Type type;
 
-	protected MethodDescriptor(UniqueId uniqueId, String displayName, Class<?> sourceClass,
-			MethodSignature methodSignature, Set<TestTag> tags, Type type) {
-		super(uniqueId, displayName, toMethodSource(sourceClass, methodSignature));
-		this.methodSignature = methodSignature;
+	protected MethodDescriptor(UniqueId uniqueId, String displayName, Class<?> sourceClass, String methodName,
+			String parameterTypeNames, Set<TestTag> tags, Type type, int id) {
+		super(uniqueId, displayName, null);
+		this.sourceClass = sourceClass;
+		this.methodName = methodName;
+		this.parameterTypeNames = parameterTypeNames;
 		this.tags = tags;
 		this.type = type;
+		this.id = id;
+	}
+
+	/**
+	 * @return dense ID of this descriptor that is unique among all method descriptors created by the same
+	 * {@link TestDescriptorFactory}
+	 */
+	int getId() {
+		return id;
 	}
 
 	@Override
 	public Set<TestTag> getTags() {
-		return unmodifiableSet(tags);
+		return tags;
 	}
 
-	private static MethodSource toMethodSource(Class<?> sourceClass, MethodSignature methodSignature) {
-		return MethodSource.from(sourceClass.getName(), methodSignature.methodName,
-			nullSafeToString(methodSignature.parameterTypes));
+	@Override
+	public Optional<TestSource> getSource() {
+		return Optional.of(getMethodSource());
 	}
 
-	@SuppressWarnings({ "deprecation", "RedundantSuppression" }) // deprecated since 7.10.1
-	static String toMethodId(ITestResult result, MethodSignature methodSignature) {
+	static String toMethodId(ITestResult result, MethodSignature methodSignature, InstanceIndex instanceIndex) {
 		String id = methodSignature.stringRepresentation;
-		Object[] instances = result.getTestClass().getInstances(true);
-		if (instances.length > 1) {
-			Object instance = result.getInstance();
-			int instanceIndex = 0;
-			for (int i = 0; i < instances.length; i++) {
-				if (unwrap(instances[i]) == instance) {
-					instanceIndex = i;
-					break;
-				}
-			}
-			id = id + "@" + instanceIndex;
+		if (instanceIndex.size() > 1) {
+			id = id + "@" + Math.max(0, instanceIndex.positionOf(result.getInstance()));
 		}
 		return id;
 	}
 
-	private static Object unwrap(Object instance) {
-		try {
-			return IParameterInfo.embeddedInstance(instance);
-		}
-		catch (NoClassDefFoundError ignored) {
-			return instance;
-		}
-	}
-
 	@Override
 	public Type getType() {
 		return type;
@@ -82,11 +81,10 @@ class MethodDescriptor extends AbstractTestDescriptor {
 
 	@Override
 	public boolean mayRegisterTests() {
-		return type == Type.CONTAINER;
+		return type.isContainer();
 	}
 
-	@SuppressWarnings("OptionalGetWithoutIsPresent")
 	MethodSource getMethodSource() {
-		return getSource().map(it -> (MethodSource) it).get();
+		return MethodSource.from(sourceClass.getName(), methodName, parameterTypeNames);
 	}
 }
@@ -21,16 +21,7 @@ class MethodSignature {
 	final String stringRepresentation;
 
 	static MethodSignature from(ITestNGMethod method) {
-		return new MethodSignature(method.getMethodName(), getParameterTypes(method));
-	}
-
-	public static Class<?>[] getParameterTypes(ITestNGMethod method) {
-		try {
-			return method.getParameterTypes();
-		}
-		catch (NoSuchMethodError e) {
-			return method.getConstructorOrMethod().getParameterTypes();
-		}
+		return new MethodSignature(method.getMethodName(), TestNGCapabilities.getParameterTypes(method));
 	}
 
 	private MethodSignature(String methodName, Class<?>[] parameterTypes) {
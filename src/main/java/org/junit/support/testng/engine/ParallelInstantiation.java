@@ -0,0 +1,261 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.support.testng.engine.TestNGTestEngine.Configurer;
+import org.testng.ITestObjectFactory;
+import org.testng.TestNG;
+import org.testng.TestNGException;
+
+/**
+ * Constructs the instances of test classes on a bounded pool of threads so that expensive constructors don't delay
+ * the first test by running one after another while TestNG creates all instances before running any test.
+ * <p>
+ * By default, construction starts for the test classes of a batch when the batch that runs two batches before it is
+ * scheduled, so at most three batches of instances are held at once; if deferred, it starts when a class's batch is
+ * scheduled since that's when TestNG would have constructed it. An object factory hands the instances to TestNG,
+ * waiting for their construction if necessary. Only classes that TestNG instantiates via their no-args constructor
+ * are constructed in advance, so batches with factories, object factories, or Guice modules are left to TestNG. If a
+ * constructor throws, the failure is rethrown to TestNG wrapped the same way TestNG wraps it when it constructs the
+ * class itself. The construction time of every test class is published as a report entry when it starts.
+ */
+class ParallelInstantiation {
+
+	static final String PARALLELISM_PARAMETER = "testng.execution.instantiation.parallelism";
+	static final String DEFERRED_PARAMETER = "testng.execution.instantiation.deferred";
+	static final String CONSTRUCTION_MILLIS_KEY = "constructionMillis";
+
+	static final ParallelInstantiation DISABLED = new ParallelInstantiation(null, false);
+
+	private static final int BATCHES_CONSTRUCTED_AHEAD = 2;
+
+	private static final Logger LOGGER = Logger.getLogger(ParallelInstantiation.class.getName());
+
+	private final ExecutorService executor;
+	private final int batchesConstructedAhead;
+	private final Queue<List<ClassDescriptor>> pendingBatches = new ArrayDeque<>();
+	private final Map<Class<?>, Future<Construction>> constructions = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Long> constructionNanos = new ConcurrentHashMap<>();
+
+	static ParallelInstantiation from(ConfigurationParameters config) {
+		int parallelism = config.get(PARALLELISM_PARAMETER, Integer::parseInt).orElse(0);
+		if (parallelism == 0) {
+			return DISABLED;
+		}
+		if (parallelism < 0) {
+			throw new IllegalArgumentException("Unsupported value for " + PARALLELISM_PARAMETER + ": " + parallelism);
+		}
+		if (!TestNGCapabilities.TEST_OBJECT_FACTORY) {
+			LOGGER.warning(() -> "Ignoring " + PARALLELISM_PARAMETER
+					+ " since it requires TestNG 7.5 or later; test classes are instantiated by TestNG");
+			return DISABLED;
+		}
+		return new ParallelInstantiation(createExecutor(parallelism),
+			config.getBoolean(DEFERRED_PARAMETER).orElse(false));
+	}
+
+	private static ExecutorService createExecutor(int parallelism) {
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		AtomicInteger threadNumber = new AtomicInteger();
+		return Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "testng-engine-instantiation-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		});
+	}
+
+	private ParallelInstantiation(ExecutorService executor, boolean deferred) {
+		this.executor = executor;
+		this.batchesConstructedAhead = deferred ? 0 : BATCHES_CONSTRUCTED_AHEAD;
+	}
+
+	/**
+	 * Start constructing the instances of the test classes of the first supplied batches that will be run by TestNG
+	 * unless construction is deferred.
+	 */
+	void start(List<List<ClassDescriptor>> batches, UnaryOperator<List<ClassDescriptor>> classesRunByTestNG) {
+		if (this != DISABLED) {
+			batches.stream().map(classesRunByTestNG).filter(batch -> !batch.isEmpty()).forEach(pendingBatches::add);
+			if (batchesConstructedAhead > 0) {
+				pendingBatches.stream().limit(batchesConstructedAhead + 1L).forEach(this::submit);
+			}
+		}
+	}
+
+	/**
+	 * Start constructing the instances of the test classes of the supplied batch and of the ones run after it that are
+	 * constructed ahead, and hand the instances to TestNG when it runs the batch.
+	 */
+	Configurer instantiate(List<ClassDescriptor> batch) {
+		if (this == DISABLED) {
+			return new Configurer() {
+			};
+		}
+		// batches skipped due to cancellation or run without TestNG are never instantiated
+		ClassDescriptor firstClass = batch.get(0);
+		while (!pendingBatches.isEmpty() && !pendingBatches.peek().contains(firstClass)) {
+			pendingBatches.remove();
+		}
+		pendingBatches.poll();
+		submit(batch);
+		pendingBatches.stream().limit(batchesConstructedAhead).forEach(this::submit);
+		return new Configurer() {
+			@Override
+			public void configure(TestNG testNG, ConfigurationParameters config) {
+				testNG.setObjectFactory(new ObjectFactory());
+			}
+		};
+	}
+
+	private void submit(List<ClassDescriptor> batch) {
+		// factories may create instances of any class in the batch
+		if (batch.stream().map(ClassDescriptor::getTestClass).anyMatch(TestAnnotationUtils::affectsInstantiation)) {
+			return;
+		}
+		for (ClassDescriptor classDescriptor : batch) {
+			Class<?> testClass = classDescriptor.getTestClass();
+			if (hasNoArgsConstructor(testClass)) {
+				constructions.computeIfAbsent(testClass, it -> executor.submit(() -> construct(it)));
+			}
+		}
+	}
+
+	private static boolean hasNoArgsConstructor(Class<?> testClass) {
+		int modifiers = testClass.getModifiers();
+		if (testClass.isInterface() || Modifier.isAbstract(modifiers)
+				|| testClass.getEnclosingClass() != null && !Modifier.isStatic(modifiers)) {
+			return false;
+		}
+		try {
+			testClass.getDeclaredConstructor();
+			return true;
+		}
+		catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static Construction construct(Class<?> testClass) throws ReflectiveOperationException {
+		long startNanos = System.nanoTime();
+		Constructor<?> constructor = testClass.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		Object instance = constructor.newInstance();
+		return new Construction(instance, System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * @return the instance constructed in advance or {@code null} if there's none
+	 * @throws TestNGException if its constructor threw
+	 */
+	private Object take(Class<?> testClass) {
+		Future<Construction> future = constructions.remove(testClass);
+		if (future == null) {
+			return null;
+		}
+		try {
+			Construction construction = future.get();
+			constructionNanos.put(testClass, construction.nanos);
+			return construction.instance;
+		}
+		catch (ExecutionException e) {
+			throw new TestNGException("Cannot instantiate class " + testClass.getName(), e.getCause());
+		}
+		catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * Publish the construction times of test classes reported as started to the supplied listener.
+	 */
+	EngineExecutionListener reportConstructionTimes(EngineExecutionListener delegate) {
+		if (this == DISABLED) {
+			return delegate;
+		}
+		return new DelegatingEngineExecutionListener(delegate) {
+			@Override
+			public void executionStarted(TestDescriptor testDescriptor) {
+				super.executionStarted(testDescriptor);
+				if (testDescriptor instanceof ClassDescriptor) {
+					Long nanos = constructionNanos.remove(((ClassDescriptor) testDescriptor).getTestClass());
+					if (nanos != null) {
+						reportingEntryPublished(testDescriptor,
+							ReportEntry.from(CONSTRUCTION_MILLIS_KEY, String.valueOf(NANOSECONDS.toMillis(nanos))));
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Stop constructing instances and discard those that haven't been used; may be called more than once.
+	 */
+	void stop() {
+		if (this != DISABLED) {
+			executor.shutdownNow();
+			constructions.clear();
+			pendingBatches.clear();
+		}
+	}
+
+	private static final class Construction {
+
+		final Object instance;
+		final long nanos;
+
+		Construction(Object instance, long nanos) {
+			this.instance = instance;
+			this.nanos = nanos;
+		}
+	}
+
+	private final class ObjectFactory implements ITestObjectFactory {
+
+		@Override
+		public <T> T newInstance(Class<T> cls, Object... parameters) {
+			Object instance = parameters == null || parameters.length == 0 ? take(cls) : null;
+			return instance == null ? ITestObjectFactory.super.newInstance(cls, parameters) : cls.cast(instance);
+		}
+
+		@Override
+		public <T> T newInstance(Constructor<T> constructor, Object... parameters) {
+			Object instance = parameters == null || parameters.length == 0 ? take(constructor.getDeclaringClass())
+					: null;
+			return instance == null //
+					? ITestObjectFactory.super.newInstance(constructor, parameters) //
+					: constructor.getDeclaringClass().cast(instance);
+		}
+	}
+}
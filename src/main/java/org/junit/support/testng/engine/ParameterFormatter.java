@@ -0,0 +1,181 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junit.platform.engine.ConfigurationParameters;
+
+/**
+ * Formats parameter values for display names without exceeding a maximum length.
+ * <p>
+ * Arrays, collections, maps, and character sequences are only traversed until the maximum length is reached so that
+ * large values don't have to be converted to strings in full. All other values are formatted by an optional custom
+ * {@code Function<Object, String>} or {@link String#valueOf(Object)}. Since the same instances are often passed to
+ * many invocations, for example the parameters of factory instances, the results are cached by identity.
+ */
+class ParameterFormatter {
+
+	static final String MAX_LENGTH_PARAMETER = "testng.displayName.maxLength";
+	static final String FORMATTER_PARAMETER = "testng.displayName.parameterFormatter";
+	static final int DEFAULT_MAX_LENGTH = 512;
+
+	private static final String ELLIPSIS = "…";
+	private static final int MAX_CACHE_SIZE = 1024;
+
+	private final int maxLength;
+	private final Function<Object, String> formatter;
+	private final Map<IdentityKey, String> cache = new ConcurrentHashMap<>();
+
+	static ParameterFormatter from(ConfigurationParameters config) {
+		int maxLength = config.get(MAX_LENGTH_PARAMETER, Integer::parseInt).orElse(DEFAULT_MAX_LENGTH);
+		Function<Object, String> formatter = config.get(FORMATTER_PARAMETER) //
+				.map(String::trim) //
+				.filter(className -> !className.isEmpty()) //
+				.map(ParameterFormatter::instantiate) //
+				.orElse(String::valueOf);
+		return new ParameterFormatter(maxLength, formatter);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Function<Object, String> instantiate(String className) {
+		Class<?> formatterClass = ReflectionSupport.tryToLoadClass(className) //
+				.getOrThrow(cause -> new IllegalArgumentException(
+					"Failed to load parameter formatter class " + className, cause));
+		if (!Function.class.isAssignableFrom(formatterClass)) {
+			throw new IllegalArgumentException(
+				"Parameter formatter class " + className + " does not implement " + Function.class.getName());
+		}
+		return (Function<Object, String>) ReflectionSupport.newInstance(formatterClass);
+	}
+
+	ParameterFormatter(int maxLength, Function<Object, String> formatter) {
+		this.maxLength = maxLength;
+		this.formatter = formatter;
+	}
+
+	/**
+	 * Format the supplied parameters as a comma-separated list truncated to the maximum length.
+	 */
+	String format(Object[] parameters) {
+		BoundedBuilder builder = new BoundedBuilder(maxLength);
+		for (int i = 0; i < parameters.length && !builder.truncated; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			appendValue(builder, parameters[i]);
+		}
+		return builder.toString();
+	}
+
+	private void appendValue(BoundedBuilder builder, Object value) {
+		if (value == null) {
+			builder.append("null");
+		}
+		else if (value instanceof CharSequence) {
+			CharSequence chars = (CharSequence) value;
+			builder.append(chars.subSequence(0, Math.min(chars.length(), builder.remaining() + 1)).toString());
+		}
+		else if (value.getClass().isArray()) {
+			appendArray(builder, value);
+		}
+		else if (value instanceof Collection) {
+			appendElements(builder, ((Collection<?>) value).iterator(), "[", "]");
+		}
+		else if (value instanceof Map) {
+			appendElements(builder, ((Map<?, ?>) value).entrySet().iterator(), "{", "}");
+		}
+		else if (value instanceof Map.Entry) {
+			appendValue(builder, ((Map.Entry<?, ?>) value).getKey());
+			builder.append("=");
+			appendValue(builder, ((Map.Entry<?, ?>) value).getValue());
+		}
+		else {
+			builder.append(formatCached(value));
+		}
+	}
+
+	private void appendArray(BoundedBuilder builder, Object array) {
+		builder.append("[");
+		int length = Array.getLength(array);
+		for (int i = 0; i < length && !builder.truncated; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			appendValue(builder, Array.get(array, i));
+		}
+		builder.append("]");
+	}
+
+	private void appendElements(BoundedBuilder builder, Iterator<?> elements, String prefix, String suffix) {
+		builder.append(prefix);
+		boolean first = true;
+		while (elements.hasNext() && !builder.truncated) {
+			if (!first) {
+				builder.append(", ");
+			}
+			appendValue(builder, elements.next());
+			first = false;
+		}
+		builder.append(suffix);
+	}
+
+	private String formatCached(Object value) {
+		if (value instanceof Number || value instanceof Boolean || value instanceof Character
+				|| value instanceof Enum) {
+			return formatter.apply(value);
+		}
+		if (cache.size() >= MAX_CACHE_SIZE) {
+			cache.clear();
+		}
+		return cache.computeIfAbsent(new IdentityKey(value), __ -> formatter.apply(value));
+	}
+
+	private static class BoundedBuilder {
+
+		private final StringBuilder builder = new StringBuilder();
+		private final int maxLength;
+		boolean truncated;
+
+		BoundedBuilder(int maxLength) {
+			this.maxLength = maxLength;
+		}
+
+		int remaining() {
+			return maxLength - builder.length();
+		}
+
+		void append(String value) {
+			if (truncated) {
+				return;
+			}
+			int remaining = remaining();
+			if (value.length() <= remaining) {
+				builder.append(value);
+			}
+			else {
+				builder.append(value, 0, Math.max(0, remaining));
+				truncated = true;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return truncated ? builder + ELLIPSIS : builder.toString();
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.junit.platform.engine.TestExecutionResult.successful;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.testng.TestNG;
+
+/**
+ * Content-addressed cache of test classes that passed.
+ * <p>
+ * The key of a test class is a digest of its name, its test methods, the contents of its dependencies as determined
+ * by {@link DependencyAnalyzer}, the TestNG version, and all configuration parameters that influence how its tests are
+ * executed. A test class whose key is found in the cache directory is not passed to TestNG; instead, its test methods
+ * are reported as skipped. Every test class all of whose tests pass is added to the cache unless the contents of any
+ * of its dependencies can't be determined or it interacts with other test classes, e.g. via suite-level configuration
+ * methods, since skipping it would change how they are executed.
+ */
+class ResultCache {
+
+	static final String ENABLED_PARAMETER = "testng.execution.resultCache.enabled";
+	static final String DIRECTORY_PARAMETER = "testng.execution.resultCache.directory";
+	static final String DEFAULT_DIRECTORY_NAME = "testng-engine-result-cache";
+	static final String CACHED_REASON = "Cached: passed in a previous run with identical inputs";
+
+	static final ResultCache DISABLED = new ResultCache(null, null, null);
+
+	private static final Logger LOGGER = Logger.getLogger(ResultCache.class.getName());
+	private static final List<String> KEY_PARAMETERS = asList("testng.allowReturnValues",
+		"testng.dataProviderThreadCount", "testng.excludedGroups", "testng.groups", "testng.listeners",
+		"testng.parallel", "testng.preserveOrder", "testng.threadCount");
+
+	private final Path directory;
+	private final ConfigurationParameters config;
+	private final DependencyAnalyzer dependencyAnalyzer;
+	private final Map<ClassDescriptor, String> keysByClass = new ConcurrentHashMap<>();
+	private final Set<ClassDescriptor> classesWithUnsuccessfulTests = ConcurrentHashMap.newKeySet();
+
+	static ResultCache from(ConfigurationParameters config, DependencyAnalyzer dependencyAnalyzer) {
+		if (config.getBoolean(ENABLED_PARAMETER).orElse(false)) {
+			Path directory = config.get(DIRECTORY_PARAMETER) //
+					.map(Paths::get) //
+					.orElseGet(() -> TestNGTestEngine.outputDirectory(config).resolve(DEFAULT_DIRECTORY_NAME));
+			return new ResultCache(directory, config, dependencyAnalyzer);
+		}
+		return DISABLED;
+	}
+
+	private ResultCache(Path directory, ConfigurationParameters config, DependencyAnalyzer dependencyAnalyzer) {
+		this.directory = directory;
+		this.config = config;
+		this.dependencyAnalyzer = dependencyAnalyzer;
+	}
+
+	/**
+	 * Report the test classes found in the cache as skipped and exclude them from being executed by TestNG.
+	 */
+	void replayCachedResults(TestNGEngineDescriptor engineDescriptor, EngineExecutionListener listener) {
+		if (this == DISABLED) {
+			return;
+		}
+		for (ClassDescriptor classDescriptor : engineDescriptor.getClassDescriptors()) {
+			if (TestAnnotationUtils.interactsWithOtherTestClasses(classDescriptor.getTestClass())) {
+				// skipping it would change how other classes are executed
+				LOGGER.fine(() -> "Not caching " + classDescriptor.getTestClass()
+						+ " since it interacts with other test classes");
+				continue;
+			}
+			Optional<String> key;
+			try {
+				key = computeKey(classDescriptor);
+			}
+			catch (UncheckedIOException e) {
+				LOGGER.log(Level.WARNING, e, () -> "Failed to compute cache key for " + classDescriptor.getTestClass());
+				continue;
+			}
+			if (!key.isPresent()) {
+				LOGGER.fine(() -> "Not caching " + classDescriptor.getTestClass()
+						+ " since the contents of its dependencies can't be determined");
+			}
+			else if (Files.isRegularFile(directory.resolve(key.get()))) {
+				classDescriptor.excludeFromExecution();
+				listener.executionStarted(classDescriptor);
+				classDescriptor.getChildren().forEach(child -> listener.executionSkipped(child, CACHED_REASON));
+				listener.executionFinished(classDescriptor, successful());
+			}
+			else {
+				keysByClass.put(classDescriptor, key.get());
+			}
+		}
+	}
+
+	private Optional<String> computeKey(ClassDescriptor classDescriptor) {
+		Class<?> testClass = classDescriptor.getTestClass();
+		Optional<String> dependenciesDigest = dependencyAnalyzer.digest(testClass,
+			dependencyAnalyzer.dependencies(testClass));
+		if (!dependenciesDigest.isPresent()) {
+			return Optional.empty();
+		}
+		MessageDigest digest = DependencyAnalyzer.sha256();
+		update(digest, "class", testClass.getName());
+		Set<String> methods = new TreeSet<>();
+		classDescriptor.getChildren().forEach(child -> methods.add(child.getUniqueId().getLastSegment().getValue()));
+		update(digest, "methods", String.join(",", methods));
+		update(digest, "dependencies", dependenciesDigest.get());
+		update(digest, "testng", String.valueOf(TestNG.class.getPackage().getImplementationVersion()));
+		KEY_PARAMETERS.forEach(key -> update(digest, key, config.get(key).orElse("")));
+		return Optional.of(DependencyAnalyzer.toHex(digest.digest()));
+	}
+
+	private static void update(MessageDigest digest, String key, String value) {
+		digest.update((key + "=" + value + "\n").getBytes(UTF_8));
+	}
+
+	EngineExecutionListener recordResults(EngineExecutionListener delegate) {
+		if (this == DISABLED) {
+			return delegate;
+		}
+		return new DelegatingEngineExecutionListener(delegate) {
+			@Override
+			public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+				markUnsuccessful(testDescriptor);
+				super.executionSkipped(testDescriptor, reason);
+			}
+
+			@Override
+			public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+				if (testExecutionResult.getStatus() != TestExecutionResult.Status.SUCCESSFUL) {
+					markUnsuccessful(testDescriptor);
+				}
+				else if (testDescriptor instanceof ClassDescriptor
+						&& !classesWithUnsuccessfulTests.contains(testDescriptor)) {
+					store((ClassDescriptor) testDescriptor);
+				}
+				super.executionFinished(testDescriptor, testExecutionResult);
+			}
+		};
+	}
+
+	private void markUnsuccessful(TestDescriptor testDescriptor) {
+		TestDescriptor current = testDescriptor;
+		while (current != null && !(current instanceof ClassDescriptor)) {
+			current = current.getParent().orElse(null);
+		}
+		if (current != null) {
+			classesWithUnsuccessfulTests.add((ClassDescriptor) current);
+		}
+	}
+
+	private void store(ClassDescriptor classDescriptor) {
+		String key = keysByClass.remove(classDescriptor);
+		if (key == null) {
+			return;
+		}
+		List<String> lines = new ArrayList<>();
+		lines.add(classDescriptor.getTestClass().getName());
+		classDescriptor.getChildren().forEach(child -> lines.add(child.getUniqueId().getLastSegment().getValue()));
+		try {
+			Files.createDirectories(directory);
+			Files.write(directory.resolve(key), lines, UTF_8);
+		}
+		catch (IOException e) {
+			LOGGER.log(Level.WARNING, e, () -> "Failed to write cache entry for " + classDescriptor.getTestClass());
+		}
+	}
+}
@@ -11,17 +11,33 @@
 package org.junit.support.testng.engine;
 
 import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toSet;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Spliterator;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.testng.ITestNGMethod;
+import org.testng.annotations.AfterGroups;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.AfterTest;
+import org.testng.annotations.BeforeGroups;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.ObjectFactory;
 import org.testng.annotations.Test;
 
 /**
@@ -29,6 +45,8 @@ import org.testng.annotations.Test;
  */
 class TestAnnotationUtils {
 
+	private static final String TEST_ANNOTATIONS_PACKAGE = Test.class.getPackage().getName() + ".";
+
 	static boolean isAnnotatedInHierarchy(Class<?> clazz) {
 		return findAnnotationInHierarchy(clazz).isPresent();
 	}
@@ -76,13 +94,140 @@ class TestAnnotationUtils {
 				.flatMap(annotation -> Arrays.stream(annotation.groups()));
 	}
 
-	private static Stream<Test> collectTestAnnotations(Class<?> testClass) {
+	/**
+	 * @return the {@link Test} annotations of the supplied class and its superclasses, nearest first
+	 */
+	static Stream<Test> collectTestAnnotations(Class<?> testClass) {
 		return getClassHierarchy(testClass) //
 				.map(clazz -> clazz.getAnnotation(Test.class)) //
 				.filter(Objects::nonNull);
 	}
 
-	private static Stream<Class<?>> getClassHierarchy(Class<?> testClass) {
+	/**
+	 * @return whether neither the supplied class nor its superclasses, their constructors, and methods are annotated
+	 * with anything from TestNG but {@link Test} and none of them implements one of TestNG's interfaces
+	 */
+	static boolean usesOnlyTestAnnotations(Class<?> testClass) {
+		return getClassHierarchy(testClass).noneMatch(clazz -> implementsTestNGInterface(clazz)
+				|| hasTestNGAnnotation(clazz, annotationType -> annotationType != Test.class));
+	}
+
+	/**
+	 * @return whether the supplied class or its superclasses declare anything that affects or depends on other test
+	 * classes run in the same suite, i.e. suite-, test-, or group-level configuration methods, factories, listeners,
+	 * dependencies on groups, or dependencies on methods of other classes
+	 */
+	static boolean interactsWithOtherTestClasses(Class<?> testClass) {
+		return getClassHierarchy(testClass).anyMatch(clazz -> hasTestNGAnnotation(clazz,
+			annotationType -> annotationType == BeforeSuite.class || annotationType == AfterSuite.class
+					|| annotationType == BeforeTest.class || annotationType == AfterTest.class
+					|| annotationType == BeforeGroups.class || annotationType == AfterGroups.class
+					|| annotationType == Factory.class || annotationType == Listeners.class)
+				|| Stream.concat(Stream.of(clazz), Arrays.stream(clazz.getDeclaredMethods())) //
+						.map(element -> element.getAnnotation(Test.class)) //
+						.filter(Objects::nonNull) //
+						.anyMatch(annotation -> annotation.dependsOnGroups().length > 0 || Arrays.stream(
+							annotation.dependsOnMethods()).anyMatch(method -> method.contains("."))));
+	}
+
+	/**
+	 * @return the groups of the test methods of the supplied class and its superclasses, including class-level groups
+	 */
+	static Set<String> collectDeclaredGroups(Class<?> testClass) {
+		return collectClassAndMethodTestAnnotations(testClass) //
+				.flatMap(annotation -> Arrays.stream(annotation.groups())) //
+				.collect(toSet());
+	}
+
+	/**
+	 * @return the groups the test methods of the supplied class and its superclasses depend on
+	 */
+	static Set<String> collectGroupDependencies(Class<?> testClass) {
+		return collectClassAndMethodTestAnnotations(testClass) //
+				.flatMap(annotation -> Arrays.stream(annotation.dependsOnGroups())) //
+				.collect(toSet());
+	}
+
+	/**
+	 * @return the names of the classes declaring the qualified methods the test methods of the supplied class and its
+	 * superclasses depend on
+	 */
+	static Set<String> collectClassDependencies(Class<?> testClass) {
+		return collectClassAndMethodTestAnnotations(testClass) //
+				.flatMap(annotation -> Arrays.stream(annotation.dependsOnMethods())) //
+				.filter(method -> method.contains(".")) //
+				.map(method -> method.substring(0, method.lastIndexOf('.'))) //
+				.collect(toSet());
+	}
+
+	/**
+	 * @return whether the supplied class or its superclasses declare anything that affects all test classes run in the
+	 * same suite, i.e. suite- or test-level configuration methods, factories, or listeners
+	 */
+	static boolean affectsAllTestClasses(Class<?> testClass) {
+		return getClassHierarchy(testClass).anyMatch(clazz -> hasTestNGAnnotation(clazz,
+			annotationType -> annotationType == BeforeSuite.class || annotationType == AfterSuite.class
+					|| annotationType == BeforeTest.class || annotationType == AfterTest.class
+					|| annotationType == Factory.class || annotationType == Listeners.class));
+	}
+
+	/**
+	 * @return the groups the {@link BeforeGroups} and {@link AfterGroups} methods of the supplied class and its
+	 * superclasses are configured for
+	 */
+	static Set<String> collectConfiguredGroups(Class<?> testClass) {
+		return getClassHierarchy(testClass) //
+				.flatMap(clazz -> Arrays.stream(clazz.getDeclaredMethods())) //
+				.flatMap(method -> Stream.concat( //
+					Stream.of(method.getAnnotation(BeforeGroups.class)).filter(Objects::nonNull) //
+							.flatMap(annotation -> Stream.of(annotation.value(), annotation.groups())), //
+					Stream.of(method.getAnnotation(AfterGroups.class)).filter(Objects::nonNull) //
+							.flatMap(annotation -> Stream.of(annotation.value(), annotation.groups())))) //
+				.flatMap(Arrays::stream) //
+				.collect(toSet());
+	}
+
+	private static Stream<Test> collectClassAndMethodTestAnnotations(Class<?> testClass) {
+		return getClassHierarchy(testClass) //
+				.flatMap(clazz -> Stream.concat(Stream.of(clazz), Arrays.stream(clazz.getDeclaredMethods()))) //
+				.map(element -> element.getAnnotation(Test.class)) //
+				.filter(Objects::nonNull);
+	}
+
+	/**
+	 * @return whether TestNG might create instances of the supplied class other than via its no-args constructor and
+	 * the configured object factory or create instances of other classes, i.e. whether it or its superclasses declare
+	 * factories, object factories, or Guice modules, or one of its constructors is annotated
+	 */
+	static boolean affectsInstantiation(Class<?> testClass) {
+		return getClassHierarchy(testClass).anyMatch(clazz -> hasTestNGAnnotation(clazz,
+			annotationType -> annotationType == Factory.class || annotationType == ObjectFactory.class
+					|| annotationType == Guice.class))
+				|| Arrays.stream(testClass.getDeclaredConstructors()) //
+						.flatMap(constructor -> Arrays.stream(constructor.getDeclaredAnnotations())) //
+						.anyMatch(annotation -> annotation.annotationType().getName().startsWith(
+							TEST_ANNOTATIONS_PACKAGE));
+	}
+
+	private static boolean implementsTestNGInterface(Class<?> clazz) {
+		for (Class<?> type : clazz.getInterfaces()) {
+			if (type.getName().startsWith("org.testng.") || implementsTestNGInterface(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasTestNGAnnotation(Class<?> clazz, Predicate<Class<?>> annotationTypeFilter) {
+		Stream<AnnotatedElement> elements = Stream.of(Stream.of(clazz), Arrays.stream(clazz.getDeclaredConstructors()),
+			Arrays.stream(clazz.getDeclaredMethods())).flatMap(identity());
+		return elements.flatMap(element -> Arrays.stream(element.getDeclaredAnnotations())) //
+				.map(Annotation::annotationType) //
+				.anyMatch(annotationType -> annotationType.getName().startsWith(TEST_ANNOTATIONS_PACKAGE)
+						&& annotationTypeFilter.test(annotationType));
+	}
+
+	static Stream<Class<?>> getClassHierarchy(Class<?> testClass) {
 		Iterator<Class<?>> iterator = new Iterator<Class<?>>() {
 			Class<?> next = testClass;
 
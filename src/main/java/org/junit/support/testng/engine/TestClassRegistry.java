@@ -13,48 +13,92 @@ package org.junit.support.testng.engine;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+/**
+ * Keeps track of the test classes that are currently in progress.
+ * <p>
+ * The bookkeeping is done with atomic operations so that concurrent starts and finishes of the same test class, e.g.
+ * for {@code parallel=instances}, don't serialize on a lock. The callbacks passed to {@link #start} and
+ * {@link #finish} are invoked outside of any map lock. Threads only wait for each other while a test class is being
+ * reported as started for the first time or after it has been reported as finished for the last time.
+ */
 class TestClassRegistry {
 
+	private static final int FINISHING = -1;
+	private static final int FINISHED = -2;
+
 	private final Set<ClassDescriptor> classDescriptors = ConcurrentHashMap.newKeySet();
 	private final Map<Class<?>, Entry> testClasses = new ConcurrentHashMap<>();
 
 	void start(Class<?> testClass, Function<Class<?>, ClassDescriptor> onFirst) {
-		Entry entry = testClasses.computeIfAbsent(testClass, __ -> {
-			ClassDescriptor classDescriptor = onFirst.apply(testClass);
-			if (classDescriptor != null) {
-				classDescriptors.add(classDescriptor);
-				return new Entry(classDescriptor);
+		while (true) {
+			Entry entry = testClasses.get(testClass);
+			if (entry == null) {
+				Entry newEntry = new Entry();
+				entry = testClasses.putIfAbsent(testClass, newEntry);
+				if (entry == null) {
+					entry = newEntry;
+					initialize(testClass, entry, onFirst);
+				}
 			}
-			return null;
-		});
-		if (entry != null) {
-			entry.inProgress.incrementAndGet();
+			if (entry.descriptor.join() == null || entry.tryStart()) {
+				return;
+			}
+			entry.finished.join();
 		}
 	}
 
+	private void initialize(Class<?> testClass, Entry entry, Function<Class<?>, ClassDescriptor> onFirst) {
+		ClassDescriptor classDescriptor;
+		try {
+			classDescriptor = onFirst.apply(testClass);
+		}
+		catch (RuntimeException | Error e) {
+			testClasses.remove(testClass, entry);
+			entry.descriptor.completeExceptionally(e);
+			throw e;
+		}
+		if (classDescriptor != null) {
+			classDescriptors.add(classDescriptor);
+		}
+		else {
+			testClasses.remove(testClass, entry);
+		}
+		entry.descriptor.complete(classDescriptor);
+	}
+
 	Optional<ClassDescriptor> get(Class<?> testClass) {
 		Entry entry = testClasses.get(testClass);
-		return Optional.ofNullable(entry).map(it -> it.descriptor);
+		return entry == null ? Optional.empty() : Optional.ofNullable(entry.descriptor.getNow(null));
 	}
 
 	void finish(Class<?> testClass, Predicate<ClassDescriptor> last, Consumer<ClassDescriptor> onLast) {
-		testClasses.compute(testClass, (__, value) -> {
-			if (value == null) {
-				return null;
+		Entry entry = testClasses.get(testClass);
+		ClassDescriptor classDescriptor = entry == null ? null : entry.descriptor.getNow(null);
+		if (classDescriptor == null) {
+			return;
+		}
+		if (entry.inProgress.decrementAndGet() == 0 && entry.inProgress.compareAndSet(0, FINISHING)) {
+			if (last.test(classDescriptor)) {
+				entry.inProgress.set(FINISHED);
+				try {
+					onLast.accept(classDescriptor);
+				}
+				finally {
+					testClasses.remove(testClass, entry);
+					entry.finished.complete(null);
+				}
 			}
-			int inProgress = value.inProgress.decrementAndGet();
-			if (inProgress == 0 && last.test(value.descriptor)) {
-				onLast.accept(value.descriptor);
-				return null;
+			else {
+				entry.inProgress.set(0);
 			}
-			return value;
-		});
+		}
 	}
 
 	Set<ClassDescriptor> getClassDescriptors() {
@@ -63,11 +107,26 @@ class TestClassRegistry {
 
 	private static class Entry {
 
-		final ClassDescriptor descriptor;
+		final CompletableFuture<ClassDescriptor> descriptor = new CompletableFuture<>();
+		final CompletableFuture<Void> finished = new CompletableFuture<>();
 		final AtomicInteger inProgress = new AtomicInteger(0);
 
-		Entry(ClassDescriptor descriptor) {
-			this.descriptor = descriptor;
+		/**
+		 * @return {@code false} if the test class has already been reported as finished for the last time
+		 */
+		boolean tryStart() {
+			while (true) {
+				int current = inProgress.get();
+				if (current == FINISHED) {
+					return false;
+				}
+				if (current == FINISHING) {
+					Thread.yield();
+				}
+				else if (inProgress.compareAndSet(current, current + 1)) {
+					return true;
+				}
+			}
 		}
 	}
 }
@@ -10,21 +10,22 @@
 
 package org.junit.support.testng.engine;
 
-import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toSet;
-import static org.junit.platform.engine.TestDescriptor.Type.CONTAINER;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toCollection;
+import static org.junit.platform.commons.support.ClassSupport.nullSafeToString;
 import static org.junit.platform.engine.TestDescriptor.Type.TEST;
 import static org.junit.support.testng.engine.MethodDescriptor.toMethodId;
 
-import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-import org.junit.platform.commons.support.ReflectionSupport;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestDescriptor.Type;
 import org.junit.platform.engine.TestTag;
@@ -32,86 +33,70 @@ import org.junit.platform.engine.UniqueId;
 import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
 import org.testng.internal.IParameterInfo;
-import org.testng.internal.annotations.DisabledRetryAnalyzer;
 
 class TestDescriptorFactory {
 
-	// ITestResult.getFactoryInstance() and IFactoryInstance.getIndex() were added in TestNG 7.13
-	// (testng-team/testng#3115) as the non-deprecated replacement for getFactoryMethodParamsInfo().
-	// They are accessed reflectively because the engine compiles against an older TestNG version.
-	private static final Method GET_FACTORY_INSTANCE = ReflectionSupport //
-			.findMethod(ITestResult.class, "getFactoryInstance").orElse(null);
-	private static final Method GET_INDEX = ReflectionSupport.tryToLoadClass("org.testng.IFactoryInstance") //
-			.toOptional() //
-			.flatMap(type -> ReflectionSupport.findMethod(type, "getIndex")) //
-			.orElse(null);
-
 	private final Map<String, TestTag> testTags = new ConcurrentHashMap<>();
+	private final Map<Set<String>, Set<TestTag>> tagSets = new ConcurrentHashMap<>();
+	private final Map<String, String> parameterTypeNames = new ConcurrentHashMap<>();
+	private final AtomicInteger nextMethodId = new AtomicInteger();
+	private final InvocationReporting invocationReporting;
+	private final ParameterFormatter parameterFormatter;
+
+	TestDescriptorFactory(InvocationReporting invocationReporting, ParameterFormatter parameterFormatter) {
+		this.invocationReporting = invocationReporting;
+		this.parameterFormatter = parameterFormatter;
+	}
 
 	ClassDescriptor createClassDescriptor(TestDescriptor parent, Class<?> testClass) {
 		UniqueId uniqueId = parent.getUniqueId().append(ClassDescriptor.SEGMENT_TYPE, testClass.getName());
-		Set<TestTag> tags = TestAnnotationUtils.collectGroups(testClass) //
-				.map(this::createTag) //
-				.collect(toSet());
-		return new ClassDescriptor(uniqueId, testClass, tags);
+		return new ClassDescriptor(uniqueId, testClass, createTags(TestAnnotationUtils.collectGroups(testClass)));
 	}
 
 	MethodDescriptor createMethodDescriptor(ClassDescriptor parent, ITestResult result) {
 		ITestNGMethod method = result.getMethod();
 		MethodSignature methodSignature = MethodSignature.from(method);
-		StringBuilder name = new StringBuilder(methodSignature.parameterTypes.length > 0 //
+		String baseName = methodSignature.parameterTypes.length > 0 //
 				? methodSignature.stringRepresentation //
-				: result.getName());
-		appendInvocationIndex(name, getFactoryMethodInvocationIndex(result));
-		appendParameterValues(name, getFactoryParameters(result));
+				: result.getName();
+		StringBuilder name = new StringBuilder(baseName);
+		InstanceIndex instanceIndex = parent.getInstanceIndex(result.getTestClass());
+		appendInvocationIndex(name, getFactoryMethodInvocationIndex(result, instanceIndex));
+		appendParameterValues(name, TestNGCapabilities.getFactoryParameters(result));
+		// reuse the base name unless something was appended to not retain two copies of it
+		String displayName = name.length() == baseName.length() ? baseName : name.toString();
 		UniqueId uniqueId = parent.getUniqueId().append(MethodDescriptor.SEGMENT_TYPE,
-			toMethodId(result, methodSignature));
+			toMethodId(result, methodSignature, instanceIndex));
 		Class<?> sourceClass = method.getTestClass().getRealClass();
-		Set<TestTag> tags = Arrays.stream(method.getGroups()).map(this::createTag).collect(toSet());
-		Type type = reportsInvocations(method) ? CONTAINER : TEST;
-		return new MethodDescriptor(uniqueId, name.toString(), sourceClass, methodSignature, tags, type);
-	}
-
-	private static Object[] getFactoryParameters(ITestResult result) {
-		try {
-			return result.getFactoryParameters();
-		}
-		catch (NoSuchMethodError ignore) {
-			// getFactoryParameters() was added in 7.0
-			return null;
-		}
+		String parameterTypeNames = this.parameterTypeNames.computeIfAbsent(
+			nullSafeToString(methodSignature.parameterTypes), Function.identity());
+		Set<TestTag> tags = createTags(Arrays.stream(method.getGroups()));
+		Type type = reportsInvocations(method) ? invocationReporting.methodType : TEST;
+		return new MethodDescriptor(uniqueId, displayName, sourceClass, methodSignature.methodName,
+			parameterTypeNames, tags, type, nextMethodId.getAndIncrement());
 	}
 
-	private static Integer getFactoryMethodInvocationIndex(ITestResult result) {
-		if (usesFactoryInstanceApi()) {
-			return getFactoryMethodInvocationIndexFromFactoryInstance_7_13(result);
+	private static Integer getFactoryMethodInvocationIndex(ITestResult result, InstanceIndex instanceIndex) {
+		if (TestNGCapabilities.FACTORY_INSTANCE) {
+			return TestNGCapabilities.getFactoryInstanceIndex(result);
 		}
-		return getFactoryMethodInvocationIndexFromParamsInfo(result);
+		return getFactoryMethodInvocationIndexFromParamsInfo(result, instanceIndex);
 	}
 
-	private static Integer getFactoryMethodInvocationIndexFromFactoryInstance_7_13(ITestResult result) {
-		Optional<?> factoryInstance = (Optional<?>) ReflectionSupport.invokeMethod(requireNonNull(GET_FACTORY_INSTANCE),
-			result);
-		return factoryInstance.map(o -> (Integer) ReflectionSupport.invokeMethod(requireNonNull(GET_INDEX), o)).orElse(
-			null);
-	}
-
-	private static Integer getFactoryMethodInvocationIndexFromParamsInfo(ITestResult result) {
-		try {
-			IParameterInfo parameterInfo = getFactoryMethodParamsInfo(result);
-			if (parameterInfo == null) {
-				return null;
-			}
-			// getIndex() reports the data provider row index; for a plain factory (without parameters) it always
-			// returns 0, so the index is instead derived from the instance hash codes.
-			return parameterInfo.getParameters().length == 0 //
-					? getFactoryMethodInvocationIndex_6_14(result) //
-					: Integer.valueOf(getIndex(parameterInfo));
+	private static Integer getFactoryMethodInvocationIndexFromParamsInfo(ITestResult result,
+			InstanceIndex instanceIndex) {
+		if (!TestNGCapabilities.FACTORY_METHOD_PARAMS_INFO || !TestNGCapabilities.PARAMETER_INFO_INDEX) {
+			return getFactoryMethodInvocationIndex_6_14(result, instanceIndex);
 		}
-		catch (NoSuchMethodError ignore) {
-			// getIndex() was introduced in 7.5
-			return getFactoryMethodInvocationIndex_6_14(result);
+		IParameterInfo parameterInfo = getFactoryMethodParamsInfo(result);
+		if (parameterInfo == null) {
+			return null;
 		}
+		// getIndex() reports the data provider row index; for a plain factory (without parameters) it always
+		// returns 0, so the index is instead derived from the instance hash codes.
+		return parameterInfo.getParameters().length == 0 //
+				? getFactoryMethodInvocationIndex_6_14(result, instanceIndex) //
+				: Integer.valueOf(getIndex(parameterInfo));
 	}
 
 	@SuppressWarnings({ "deprecation", "RedundantSuppression" }) // deprecated since 7.13
@@ -124,20 +109,9 @@ class TestDescriptorFactory {
 		return result.getMethod().getFactoryMethodParamsInfo();
 	}
 
-	@SuppressWarnings({ "deprecation", "RedundantSuppression" }) // deprecated since 7.10.1
-	private static Integer getFactoryMethodInvocationIndex_6_14(ITestResult result) {
+	private static Integer getFactoryMethodInvocationIndex_6_14(ITestResult result, InstanceIndex instanceIndex) {
 		// ITestNGMethod.getFactoryMethodParamsInfo() was added in 7.0 and IParameterInfo.getIndex() in 7.5
-		long[] instanceHashCodes = result.getTestClass().getInstanceHashCodes();
-		if (instanceHashCodes.length > 1) {
-			long hashCode = result.getInstance().hashCode();
-			for (int i = 0; i < instanceHashCodes.length; ++i) {
-				if (instanceHashCodes[i] == hashCode) {
-					return i;
-				}
-			}
-		}
-
-		return null;
+		return instanceIndex.positionOfHashCode(result.getInstance().hashCode());
 	}
 
 	static void appendInvocationIndex(StringBuilder builder, Integer invocationIndex) {
@@ -146,69 +120,47 @@ class TestDescriptorFactory {
 		}
 	}
 
-	static void appendParameterValues(StringBuilder builder, Object[] parameters) {
+	private void appendParameterValues(StringBuilder builder, Object[] parameters) {
 		if (parameters != null && parameters.length > 0) {
-			builder.append("(").append(Arrays.stream(parameters).map(String::valueOf).collect(joining(", "))).append(
-				")");
+			builder.append("(").append(parameterFormatter.format(parameters)).append(")");
 		}
 	}
 
 	private boolean reportsInvocations(ITestNGMethod method) {
-		return isDataDriven(method) //
+		return TestNGCapabilities.isDataDriven(method) //
 				|| method.getInvocationCount() > 1 //
 				|| method.getThreadPoolSize() > 0 //
-				|| getRetryAnalyzerClass(method) != getDefaultRetryAnalyzer();
-	}
-
-	private Class<?> getRetryAnalyzerClass(ITestNGMethod method) {
-		try {
-			return method.getRetryAnalyzerClass();
-		}
-		catch (NoSuchMethodError ignore) {
-			return TestAnnotationUtils.getRetryAnalyzer(method);
-		}
-	}
-
-	private Class<?> getDefaultRetryAnalyzer() {
-		try {
-			return DisabledRetryAnalyzer.class;
-		}
-		catch (NoClassDefFoundError ignore) {
-			return Class.class;
-		}
-	}
-
-	private boolean isDataDriven(ITestNGMethod method) {
-		try {
-			return method.isDataDriven();
-		}
-		catch (NoSuchMethodError ignore) {
-			return TestAnnotationUtils.getDataProvider(method).isPresent() //
-					|| TestAnnotationUtils.getDataProviderClass(method).isPresent();
-		}
+				|| TestNGCapabilities.getRetryAnalyzerClass(method) != TestNGCapabilities.DEFAULT_RETRY_ANALYZER;
 	}
 
 	InvocationDescriptor createInvocationDescriptor(MethodDescriptor parent, ITestResult result, int invocationIndex) {
 		UniqueId uniqueId = parent.getUniqueId().append(InvocationDescriptor.SEGMENT_TYPE,
 			String.valueOf(invocationIndex));
 		Object[] parameters = result.getParameters();
-		String displayName;
-		if (parameters.length > 0) {
-			String paramList = Arrays.stream(parameters).map(String::valueOf).collect(joining(", "));
-			displayName = String.format("[%d] %s", invocationIndex, paramList);
-		}
-		else {
-			displayName = String.format("[%d]", invocationIndex);
-		}
-		String legacyReportingName = String.format("%s[%d]", parent.getLegacyReportingName(), invocationIndex);
+		String displayName = parameters.length > 0 //
+				? "[" + invocationIndex + "] " + parameterFormatter.format(parameters) //
+				: "[" + invocationIndex + "]";
+		String legacyReportingName = parent.getLegacyReportingName() + "[" + invocationIndex + "]";
 		return new InvocationDescriptor(uniqueId, displayName, legacyReportingName, parent.getMethodSource());
 	}
 
+	/**
+	 * Create an immutable set of tags for the supplied groups. Since most test methods share the same few groups,
+	 * equal sets are only created once and shared between all descriptors.
+	 */
+	private Set<TestTag> createTags(Stream<String> groups) {
+		Set<String> values = groups.collect(toCollection(LinkedHashSet::new));
+		if (values.isEmpty()) {
+			return emptySet();
+		}
+		return tagSets.computeIfAbsent(values, __ -> {
+			Set<TestTag> tags = values.stream().map(this::createTag).collect(toCollection(LinkedHashSet::new));
+			return unmodifiableSet(tags);
+		});
+	}
+
 	private TestTag createTag(String value) {
 		return testTags.computeIfAbsent(value, TestTag::create);
 	}
 
-	private static boolean usesFactoryInstanceApi() {
-		return GET_FACTORY_INSTANCE != null && GET_INDEX != null;
-	}
 }
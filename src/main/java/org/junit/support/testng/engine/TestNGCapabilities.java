@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toMap;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.testng.ITestNGMethod;
+import org.testng.ITestObjectFactory;
+import org.testng.ITestResult;
+import org.testng.annotations.CustomAttribute;
+import org.testng.annotations.Test;
+import org.testng.internal.IParameterInfo;
+
+/**
+ * Features of the TestNG API that are only available in some of the supported versions.
+ * <p>
+ * Every feature is probed once when this class is initialized and bound to a lambda or method handle so that callers
+ * don't have to detect it by catching {@link LinkageError LinkageErrors} on every call. Lambdas referring to methods
+ * that don't exist in older versions are only created if the method exists since they are linked lazily.
+ */
+final class TestNGCapabilities {
+
+	/**
+	 * {@code ITestNGMethod.getFactoryMethodParamsInfo()} was added in 7.0.
+	 */
+	static final boolean FACTORY_METHOD_PARAMS_INFO = hasMethod(ITestNGMethod.class, "getFactoryMethodParamsInfo");
+
+	/**
+	 * {@code IParameterInfo.getIndex()} was added in 7.5.
+	 */
+	static final boolean PARAMETER_INFO_INDEX = hasMethod("org.testng.internal.IParameterInfo", "getIndex");
+
+	/**
+	 * {@code ITestObjectFactory.newInstance(Constructor, Object...)} was added in 7.5.
+	 */
+	static final boolean TEST_OBJECT_FACTORY = hasMethod(ITestObjectFactory.class, "newInstance", Constructor.class,
+		Object[].class);
+
+	/**
+	 * The retry analyzer of test methods that don't declare one; {@code DisabledRetryAnalyzer} was added in 7.0.
+	 */
+	static final Class<?> DEFAULT_RETRY_ANALYZER = ReflectionSupport //
+			.tryToLoadClass("org.testng.internal.annotations.DisabledRetryAnalyzer") //
+			.toOptional() //
+			.orElse(Class.class);
+
+	private static final Function<ITestNGMethod, Class<?>[]> PARAMETER_TYPES = //
+		hasMethod(ITestNGMethod.class, "getParameterTypes") //
+				? ITestNGMethod::getParameterTypes //
+				: method -> method.getConstructorOrMethod().getParameterTypes();
+
+	private static final Function<ITestNGMethod, Map<String, String>> ATTRIBUTES = //
+		hasMethod(ITestNGMethod.class, "getAttributes") //
+				? TestNGCapabilities::collectAttributes //
+				: method -> emptyMap();
+
+	private static final Predicate<Test> DECLARES_ATTRIBUTES = //
+		hasMethod(Test.class, "attributes") //
+				? annotation -> annotation.attributes().length > 0 //
+				: annotation -> false;
+
+	private static final Function<ITestResult, Object[]> FACTORY_PARAMETERS = //
+		hasMethod(ITestResult.class, "getFactoryParameters") //
+				? ITestResult::getFactoryParameters //
+				: result -> null;
+
+	private static final Predicate<ITestNGMethod> DATA_DRIVEN = //
+		hasMethod(ITestNGMethod.class, "isDataDriven") //
+				? ITestNGMethod::isDataDriven //
+				: method -> TestAnnotationUtils.getDataProvider(method).isPresent()
+						|| TestAnnotationUtils.getDataProviderClass(method).isPresent();
+
+	private static final Function<ITestNGMethod, Class<?>> RETRY_ANALYZER_CLASS = //
+		hasMethod(ITestNGMethod.class, "getRetryAnalyzerClass") //
+				? ITestNGMethod::getRetryAnalyzerClass //
+				: TestAnnotationUtils::getRetryAnalyzer;
+
+	private static final UnaryOperator<Object> EMBEDDED_INSTANCE = //
+		hasMethod("org.testng.internal.IParameterInfo", "embeddedInstance", Object.class) //
+				? IParameterInfo::embeddedInstance //
+				: UnaryOperator.identity();
+
+	// ITestResult.getFactoryInstance() and IFactoryInstance.getIndex() were added in TestNG 7.13
+	// (testng-team/testng#3115) as the non-deprecated replacement for getFactoryMethodParamsInfo().
+	// They are accessed via method handles because the engine compiles against an older TestNG version.
+	private static final MethodHandle GET_FACTORY_INSTANCE = findVirtual(ITestResult.class, "getFactoryInstance",
+		Optional.class);
+	private static final MethodHandle GET_FACTORY_INSTANCE_INDEX = ReflectionSupport //
+			.tryToLoadClass("org.testng.IFactoryInstance") //
+			.toOptional() //
+			.map(type -> findVirtual(type, "getIndex", int.class)) //
+			.map(handle -> handle.asType(methodType(int.class, Object.class))) //
+			.orElse(null);
+
+	/**
+	 * {@code ITestResult.getFactoryInstance()} and {@code IFactoryInstance.getIndex()} were added in 7.13.
+	 */
+	static final boolean FACTORY_INSTANCE = GET_FACTORY_INSTANCE != null && GET_FACTORY_INSTANCE_INDEX != null;
+
+	private TestNGCapabilities() {
+	}
+
+	static Class<?>[] getParameterTypes(ITestNGMethod method) {
+		return PARAMETER_TYPES.apply(method);
+	}
+
+	/**
+	 * @return the values of the custom attributes of the supplied method by name
+	 */
+	static Map<String, String> getAttributes(ITestNGMethod method) {
+		return ATTRIBUTES.apply(method);
+	}
+
+	// must only be called if ITestNGMethod.getAttributes() exists since CustomAttribute was added in 7.0
+	private static Map<String, String> collectAttributes(ITestNGMethod method) {
+		CustomAttribute[] attributes = method.getAttributes();
+		if (attributes.length > 0) {
+			return Arrays.stream(attributes) //
+					.collect(toMap(CustomAttribute::name, attr -> String.join(", ", attr.values())));
+		}
+		return emptyMap();
+	}
+
+	/**
+	 * @return whether the supplied annotation declares custom attributes
+	 */
+	static boolean declaresAttributes(Test annotation) {
+		return DECLARES_ATTRIBUTES.test(annotation);
+	}
+
+	/**
+	 * @return the parameters passed to the factory that created the instance or {@code null} if they are unknown
+	 */
+	static Object[] getFactoryParameters(ITestResult result) {
+		return FACTORY_PARAMETERS.apply(result);
+	}
+
+	static boolean isDataDriven(ITestNGMethod method) {
+		return DATA_DRIVEN.test(method);
+	}
+
+	static Class<?> getRetryAnalyzerClass(ITestNGMethod method) {
+		return RETRY_ANALYZER_CLASS.apply(method);
+	}
+
+	static Object embeddedInstance(Object instance) {
+		return EMBEDDED_INSTANCE.apply(instance);
+	}
+
+	/**
+	 * @return the index of the factory invocation that created the instance of the supplied result or {@code null}
+	 * if it was not created by a factory; must only be called if {@link #FACTORY_INSTANCE} is supported
+	 */
+	static Integer getFactoryInstanceIndex(ITestResult result) {
+		try {
+			Optional<?> factoryInstance = (Optional<?>) GET_FACTORY_INSTANCE.invokeExact(result);
+			if (factoryInstance.isPresent()) {
+				return (int) GET_FACTORY_INSTANCE_INDEX.invokeExact(factoryInstance.get());
+			}
+			return null;
+		}
+		catch (RuntimeException | Error e) {
+			throw e;
+		}
+		catch (Throwable t) {
+			throw new IllegalStateException(t);
+		}
+	}
+
+	private static boolean hasMethod(String className, String methodName, Class<?>... parameterTypes) {
+		return ReflectionSupport.tryToLoadClass(className) //
+				.toOptional() //
+				.filter(type -> hasMethod(type, methodName, parameterTypes)) //
+				.isPresent();
+	}
+
+	private static boolean hasMethod(Class<?> type, String methodName, Class<?>... parameterTypes) {
+		return Arrays.stream(type.getMethods()) //
+				.anyMatch(method -> method.getName().equals(methodName)
+						&& Arrays.equals(method.getParameterTypes(), parameterTypes));
+	}
+
+	private static MethodHandle findVirtual(Class<?> type, String methodName, Class<?> returnType) {
+		try {
+			return MethodHandles.publicLookup().findVirtual(type, methodName, methodType(returnType));
+		}
+		catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+}
@@ -10,27 +10,42 @@
 
 package org.junit.support.testng.engine;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.toCollection;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Stream;
 
+import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.support.descriptor.EngineDescriptor;
 
 class TestNGEngineDescriptor extends EngineDescriptor {
 
-	private final TestDescriptorFactory testDescriptorFactory = new TestDescriptorFactory();
+	private final TestDescriptorFactory testDescriptorFactory;
 	private final Map<Class<?>, ClassDescriptor> classDescriptorsByTestClass = new HashMap<>();
+	private ExecutionOrder executionOrder = ExecutionOrder.DEFAULT;
 
-	public TestNGEngineDescriptor(UniqueId uniqueId) {
+	public TestNGEngineDescriptor(UniqueId uniqueId, ConfigurationParameters configurationParameters) {
 		super(uniqueId, "TestNG");
+		this.testDescriptorFactory = new TestDescriptorFactory(InvocationReporting.from(configurationParameters),
+			ParameterFormatter.from(configurationParameters));
 	}
 
 	public TestDescriptorFactory getTestDescriptorFactory() {
@@ -55,7 +70,7 @@ class TestNGEngineDescriptor extends EngineDescriptor {
 	}
 
 	Set<ClassDescriptor> getClassDescriptors() {
-		return classDescriptors().collect(toSet());
+		return classDescriptors().collect(toCollection(LinkedHashSet::new));
 	}
 
 	Class<?>[] getTestClasses() {
@@ -65,14 +80,122 @@ class TestNGEngineDescriptor extends EngineDescriptor {
 	}
 
 	List<String> getQualifiedMethodNames() {
-		return classDescriptors() //
+		return getQualifiedMethodNames(executionOrder.orderClasses(getClassDescriptors()));
+	}
+
+	static List<String> getQualifiedMethodNames(Collection<ClassDescriptor> classDescriptors) {
+		return classDescriptors.stream() //
 				.flatMap(it -> it.executionStrategy.getTestMethods().stream() //
 						.map(methodName -> it.getTestClass().getName() + "." + methodName)) //
 				.collect(toList());
 	}
 
-	void prepareExecution() {
-		classDescriptors().forEach(ClassDescriptor::prepareExecution);
+	/**
+	 * Split the test classes to be executed into batches of at most {@code batchSize} test methods each while
+	 * keeping all methods of a class in the same batch, so a class exceeding the limit on its own forms a batch.
+	 * Classes whose test methods depend on groups or methods of other classes and classes declaring group-level
+	 * configuration methods are kept in the same batch as the classes they are linked to since TestNG would
+	 * otherwise fail or skip them due to missing dependencies or not run the configuration methods. If any class
+	 * declares suite- or test-level configuration methods, factories, or listeners, all classes form a single batch
+	 * since those affect every class in the suite.
+	 */
+	List<List<ClassDescriptor>> getExecutionBatches(int batchSize) {
+		List<ClassDescriptor> classDescriptors = executionOrder.orderClasses(getClassDescriptors()).stream() //
+				.filter(it -> !it.executionStrategy.getTestMethods().isEmpty()) //
+				.collect(toList());
+		if (countTestMethods(classDescriptors) <= batchSize || classDescriptors.stream() //
+				.anyMatch(it -> TestAnnotationUtils.affectsAllTestClasses(it.getTestClass()))) {
+			return classDescriptors.isEmpty() ? emptyList() : singletonList(classDescriptors);
+		}
+		List<List<ClassDescriptor>> batches = new ArrayList<>();
+		List<ClassDescriptor> currentBatch = new ArrayList<>();
+		int currentBatchSize = 0;
+		for (List<ClassDescriptor> dependentClasses : groupDependentClasses(classDescriptors)) {
+			int numTestMethods = countTestMethods(dependentClasses);
+			if (!currentBatch.isEmpty() && currentBatchSize + numTestMethods > batchSize) {
+				batches.add(currentBatch);
+				currentBatch = new ArrayList<>();
+				currentBatchSize = 0;
+			}
+			currentBatch.addAll(dependentClasses);
+			currentBatchSize += numTestMethods;
+		}
+		if (!currentBatch.isEmpty()) {
+			batches.add(currentBatch);
+		}
+		return batches;
+	}
+
+	private static int countTestMethods(List<ClassDescriptor> classDescriptors) {
+		return classDescriptors.stream().mapToInt(it -> it.executionStrategy.getTestMethods().size()).sum();
+	}
+
+	/**
+	 * @return the supplied classes grouped by whether they are directly or transitively linked by dependencies on
+	 * groups or methods or by group-level configuration methods, ordered by their first class, each group in the
+	 * supplied order
+	 */
+	private static List<List<ClassDescriptor>> groupDependentClasses(List<ClassDescriptor> classDescriptors) {
+		Map<String, List<ClassDescriptor>> classesByGroup = new HashMap<>();
+		Map<String, List<ClassDescriptor>> classesByName = new HashMap<>();
+		for (ClassDescriptor classDescriptor : classDescriptors) {
+			Class<?> testClass = classDescriptor.getTestClass();
+			TestAnnotationUtils.collectDeclaredGroups(testClass).forEach(
+				group -> classesByGroup.computeIfAbsent(group, __ -> new ArrayList<>()).add(classDescriptor));
+			TestAnnotationUtils.getClassHierarchy(testClass).forEach(clazz -> classesByName.computeIfAbsent(
+				clazz.getName(), __ -> new ArrayList<>()).add(classDescriptor));
+		}
+		Map<ClassDescriptor, Set<ClassDescriptor>> links = new HashMap<>();
+		for (ClassDescriptor classDescriptor : classDescriptors) {
+			Class<?> testClass = classDescriptor.getTestClass();
+			Stream.concat( //
+				TestAnnotationUtils.collectGroupDependencies(testClass).stream() //
+						.flatMap(dependency -> classesByGroup.entrySet().stream() //
+								.filter(entry -> matchesGroup(dependency, entry.getKey())) //
+								.flatMap(entry -> entry.getValue().stream())), //
+				Stream.concat( //
+					TestAnnotationUtils.collectClassDependencies(testClass).stream() //
+							.flatMap(className -> classesByName.getOrDefault(className, emptyList()).stream()), //
+					TestAnnotationUtils.collectConfiguredGroups(testClass).stream() //
+							.flatMap(group -> classesByGroup.getOrDefault(group, emptyList()).stream()))) //
+					.filter(dependency -> dependency != classDescriptor) //
+					.forEach(dependency -> {
+						links.computeIfAbsent(classDescriptor, __ -> new HashSet<>()).add(dependency);
+						links.computeIfAbsent(dependency, __ -> new HashSet<>()).add(classDescriptor);
+					});
+		}
+		List<List<ClassDescriptor>> result = new ArrayList<>();
+		Set<ClassDescriptor> grouped = new HashSet<>();
+		for (ClassDescriptor classDescriptor : classDescriptors) {
+			if (!grouped.add(classDescriptor)) {
+				continue;
+			}
+			Set<ClassDescriptor> dependentClasses = new HashSet<>();
+			Deque<ClassDescriptor> queue = new ArrayDeque<>();
+			queue.add(classDescriptor);
+			while (!queue.isEmpty()) {
+				ClassDescriptor current = queue.poll();
+				dependentClasses.add(current);
+				links.getOrDefault(current, emptySet()).stream().filter(grouped::add).forEach(queue::add);
+			}
+			result.add(classDescriptors.stream().filter(dependentClasses::contains).collect(toList()));
+		}
+		return result;
+	}
+
+	// like TestNG, treat dependencies on groups as regular expressions
+	private static boolean matchesGroup(String dependency, String group) {
+		try {
+			return dependency.equals(group) || Pattern.matches(dependency, group);
+		}
+		catch (PatternSyntaxException e) {
+			return false;
+		}
+	}
+
+	void prepareExecution(ExecutionOrder executionOrder) {
+		this.executionOrder = executionOrder;
+		classDescriptors().forEach(it -> it.prepareExecution(executionOrder));
 	}
 
 	private Stream<ClassDescriptor> classDescriptors() {
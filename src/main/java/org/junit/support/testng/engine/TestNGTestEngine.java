@@ -14,9 +14,10 @@ import static org.junit.support.testng.engine.TestNGTestEngine.Configurer.testCl
 import static org.junit.support.testng.engine.TestNGTestEngine.Configurer.testMethods;
 import static org.testng.internal.RuntimeBehavior.TESTNG_MODE_DRYRUN;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.BooleanSupplier;
 
 import org.junit.platform.commons.support.ReflectionSupport;
 import org.junit.platform.engine.ConfigurationParameters;
@@ -86,7 +87,8 @@ public class TestNGTestEngine implements TestEngine {
 	 */
 	@Override
 	public TestDescriptor discover(EngineDiscoveryRequest request, UniqueId uniqueId) {
-		TestNGEngineDescriptor engineDescriptor = new TestNGEngineDescriptor(uniqueId);
+		TestNGEngineDescriptor engineDescriptor = new TestNGEngineDescriptor(uniqueId,
+			request.getConfigurationParameters());
 
 		DISCOVERY_REQUEST_RESOLVER.resolve(request, engineDescriptor);
 		Class<?>[] testClasses = engineDescriptor.getTestClasses();
@@ -106,6 +108,7 @@ public class TestNGTestEngine implements TestEngine {
 		}
 
 		listener.finalizeDiscovery();
+		ImpactAnalysis.from(configurationParameters, new DependencyAnalyzer()).pruneUnaffected(engineDescriptor);
 
 		return engineDescriptor;
 	}
@@ -122,6 +125,51 @@ public class TestNGTestEngine implements TestEngine {
 	 *     <dt>{@code testng.dataProviderThreadCount} (file path)</dt>
 	 *     <dd>maximum number of threads to use for running data providers in parallel, if enabled via {@link DataProvider#parallel()} (default: {@code 10})</dd>
 	 *
+	 *     <dt>{@code testng.execution.batchSize} (integer)</dt>
+	 *     <dd>maximum number of test methods to pass to a single TestNG run; test classes are never split across runs, classes linked by dependencies or group-level configuration methods are kept in the same run, and suites containing suite- or test-level configuration methods, factories, or listeners are not split at all (default: unlimited)</dd>
+	 *
+	 *     <dt>{@code testng.execution.cancellation.interruptAfterMillis} (integer)</dt>
+	 *     <dd>number of milliseconds after cancellation of the execution request after which running test methods are interrupted and reported as aborted (default: not interrupted)</dd>
+	 *
+	 *     <dt>{@code testng.execution.directInvocation} (boolean)</dt>
+	 *     <dd>whether test classes whose test methods are public, have no parameters, and use no TestNG features but expected exceptions should be run by invoking their test methods directly instead of via TestNG (default: {@code false})</dd>
+	 *
+	 *     <dt>{@code testng.execution.generatedInvokers} (boolean)</dt>
+	 *     <dd>whether test methods should be invoked via invokers generated and cached per method instead of via reflection so that short, frequently invoked tests can be inlined by the JIT (default: {@code false})</dd>
+	 *
+	 *     <dt>{@code testng.execution.impactAnalysis} (boolean)</dt>
+	 *     <dd>whether test methods that passed in a previous run should be skipped if none of the application classes their test class depends on have changed since then (default: {@code false})</dd>
+	 *
+	 *     <dt>{@code testng.execution.instantiation.deferred} (boolean)</dt>
+	 *     <dd>whether test classes should only be constructed in advance once their batch is scheduled instead of when the batch two batches before it is scheduled (default: {@code false})</dd>
+	 *
+	 *     <dt>{@code testng.execution.instantiation.parallelism} (integer)</dt>
+	 *     <dd>number of threads that construct instances of test classes in advance instead of TestNG constructing them one after another, requires TestNG 7.5 or later (default: not constructed in advance)</dd>
+	 *
+	 *     <dt>{@code testng.execution.order} (default|failedFirst)</dt>
+	 *     <dd>whether tests that failed in the previous run and classes whose class files changed since then should be executed first (default: {@code "default"})</dd>
+	 *
+	 *     <dt>{@code testng.execution.resultCache.enabled} (boolean)</dt>
+	 *     <dd>whether test classes whose tests all passed in a previous run with identical class files, dependencies, and configuration should be reported as skipped instead of being executed (default: {@code false})</dd>
+	 *
+	 *     <dt>{@code testng.execution.resultCache.directory} (file path)</dt>
+	 *     <dd>the directory to store the result cache in (default: {@code "testng-engine-result-cache"} in the output directory)</dd>
+	 *
+	 *     <dt>{@code testng.execution.timeouts.virtualThreads} (boolean)</dt>
+	 *     <dd>whether the {@code timeOut} of test methods should be enforced by running their invocations on virtual threads instead of a dedicated platform thread per invocation; requires Java 21 or later and is ignored otherwise (default: {@code false})</dd>
+	 *
+	 *     <dt>{@code testng.execution.watchdog.cancel} (boolean)</dt>
+	 *     <dd>whether execution should be cancelled when the watchdog detects a hung test (default: {@code false})</dd>
+	 *
+	 *     <dt>{@code testng.execution.watchdog.classTimeoutMillis} (integer)</dt>
+	 *     <dd>number of milliseconds after which a test class that is still running is considered hung and a thread dump is written to the output directory (default: unlimited)</dd>
+	 *
+	 *     <dt>{@code testng.execution.watchdog.idleTimeoutMillis} (integer)</dt>
+	 *     <dd>number of milliseconds without any test or container being started or finished after which execution is considered hung and a thread dump is written to the output directory (default: unlimited)</dd>
+	 *
+	 *     <dt>{@code testng.invocations.pruneFinished} (boolean)</dt>
+	 *     <dd>whether descriptors of data provider invocations should be removed from the test tree once they have been reported as finished so memory consumption does not grow with the number of invocations (default: {@code false})</dd>
+	 *
 	 *     <dt>{@code testng.parallel} (methods|tests|classes|instances|none)</dt>
 	 *     <dd>TestNG's parallel execution mode for running tests in separate threads (default: {@code "none"})</dd>
 	 *
@@ -133,12 +181,33 @@ public class TestNGTestEngine implements TestEngine {
 	 * </dl>
 	 * <h4>Reporting</h4>
 	 * <dl>
+	 *     <dt>{@code testng.displayName.maxLength} (integer)</dt>
+	 *     <dd>maximum length of the parameter values included in display names of invocations and factory instances; longer values are truncated (default: {@code 512})</dd>
+	 *
+	 *     <dt>{@code testng.displayName.parameterFormatter} (fully-qualified class name)</dt>
+	 *     <dd>implementation of {@code java.util.function.Function<Object, String>} with a no-args constructor used to format parameter values that are not arrays, collections, maps, or character sequences (default: {@link String#valueOf(Object)})</dd>
+	 *
+	 *     <dt>{@code testng.invocations.reporting} (individual|aggregate)</dt>
+	 *     <dd>whether each invocation of a data-driven or repeatedly invoked test method should be reported as a separate test or only failing ones while reporting a summary for the method (default: {@code "individual"})</dd>
+	 *
 	 *     <dt>{@code testng.listeners} (comma-separated list of fully-qualified class names)</dt>
 	 *     <dd>custom listeners that should be registered when executing tests (default: {@code ""})</dd>
 	 *
 	 *     <dt>{@code testng.outputDirectory} (file path)</dt>
 	 *     <dd>the output directory for reports (default: {@code "test-output"})</dd>
 	 *
+	 *     <dt>{@code testng.reporting.async.enabled} (boolean)</dt>
+	 *     <dd>whether execution events should be reported on a dedicated thread so that slow listeners don't hold up test execution (default: {@code false})</dd>
+	 *
+	 *     <dt>{@code testng.reporting.async.bufferSize} (integer)</dt>
+	 *     <dd>maximum number of events waiting to be reported if asynchronous reporting is enabled (default: {@code 1024})</dd>
+	 *
+	 *     <dt>{@code testng.reporting.async.backpressure} (block|dropReportEntries)</dt>
+	 *     <dd>whether threads executing tests should wait when the buffer of events is full or report entries should be dropped instead (default: {@code "block"})</dd>
+	 *
+	 *     <dt>{@code testng.reporting.failures.compact} (boolean)</dt>
+	 *     <dd>whether repeated failures with the same types, messages, stack traces ignoring frames of TestNG, reflection, and the engine, causes, and suppressed exceptions should be reported with a shared canonical throwable (default: {@code false})</dd>
+	 *
 	 *     <dt>{@code testng.useDefaultListeners} (boolean)</dt>
 	 *     <dd>whether TestNG's default report generating listeners should be used (default: {@code false})</dd>
 	 *
@@ -147,7 +216,8 @@ public class TestNGTestEngine implements TestEngine {
 	 * </dl>
 	 * <p>
 	 * The implementation configures TestNG as if the discovered methods were specified on the
-	 * command line.
+	 * command line. If {@code testng.execution.batchSize} is set, TestNG is run once per batch so
+	 * that the results it retains until the end of a run are released in between.
 	 * <p>
 	 * Data providers test methods are reported as a nested structure, i.e. individual invocations
 	 * are reported underneath the test methods along with their parameters:
@@ -158,28 +228,106 @@ public class TestNGTestEngine implements TestEngine {
 	 *          ├─ [0] a ✔
 	 *          └─ [1] b ✔
 	 * </code></pre>
+	 * <p>
+	 * If {@code testng.invocations.reporting} is set to {@code aggregate}, such methods are reported
+	 * as tests that only register failing invocations and publish a report entry with invocation
+	 * counts, indices of failed invocations, and durations once all invocations are finished.
 	 */
 	@Override
 	public void execute(ExecutionRequest request) {
+		ExecutionOrder executionOrder = ExecutionOrder.from(request.getConfigurationParameters());
+		// impact analysis and the result cache analyze the same classes, so their class files are only parsed once
+		DependencyAnalyzer dependencyAnalyzer = new DependencyAnalyzer();
+		ImpactAnalysis impactAnalysis = ImpactAnalysis.from(request.getConfigurationParameters(), dependencyAnalyzer);
+		ResultCache resultCache = ResultCache.from(request.getConfigurationParameters(), dependencyAnalyzer);
+		AsyncReporting asyncReporting = AsyncReporting.from(request.getConfigurationParameters());
+		FailureCompaction failureCompaction = FailureCompaction.from(request.getConfigurationParameters());
+		Watchdog watchdog = Watchdog.from(request.getConfigurationParameters());
+		DirectInvocation directInvocation = DirectInvocation.from(request.getConfigurationParameters());
+		ParallelInstantiation parallelInstantiation = ParallelInstantiation.from(request.getConfigurationParameters());
 		EngineExecutionListener listener = request.getEngineExecutionListener();
-		BooleanSupplier cancellationToken = getCancellationToken(request);
+		if (request.getConfigurationParameters().getBoolean("testng.invocations.pruneFinished").orElse(false)) {
+			listener = ExecutionListener.pruneFinishedInvocations(listener);
+		}
+		listener = watchdog.track(failureCompaction.compactFailures(asyncReporting.dispatchAsynchronously(
+			resultCache.recordResults(impactAnalysis.recordResults(executionOrder.recordFailures(listener))))));
+		listener = parallelInstantiation.reportConstructionTimes(listener);
+		Cancellation cancellation = Cancellation.from(request);
 		TestNGEngineDescriptor engineDescriptor = (TestNGEngineDescriptor) request.getRootTestDescriptor();
-		listener.executionStarted(engineDescriptor);
-		engineDescriptor.prepareExecution();
-		ExecutionListener executionListener = new ExecutionListener(listener, cancellationToken, engineDescriptor);
-		List<String> methodNames = engineDescriptor.getQualifiedMethodNames();
-		if (!methodNames.isEmpty()) {
+		Throwable failure = null;
+		try {
+			listener.executionStarted(engineDescriptor);
+			cancellation.start();
+			watchdog.start(cancellation);
+			engineDescriptor.prepareExecution(executionOrder);
+			resultCache.replayCachedResults(engineDescriptor, listener);
+			ExecutionListener executionListener = new ExecutionListener(listener, cancellation, failureCompaction,
+				engineDescriptor);
+			int batchSize = request.getConfigurationParameters() //
+					.get("testng.execution.batchSize", Integer::parseInt) //
+					.filter(it -> it > 0) //
+					.orElse(Integer.MAX_VALUE);
+			List<List<ClassDescriptor>> batches = engineDescriptor.getExecutionBatches(batchSize);
+			parallelInstantiation.start(batches, directInvocation::getClassesRunByTestNG);
+			for (List<ClassDescriptor> batch : batches) {
+				if (cancellation.isRequested()) {
+					batch.forEach(executionListener::skipDueToCancellation);
+					continue;
+				}
+				List<ClassDescriptor> remaining = directInvocation.runQualifyingClasses(batch, listener,
+					executionListener, cancellation);
+				if (remaining.isEmpty()) {
+					continue;
+				}
+				List<String> methodNames = TestNGEngineDescriptor.getQualifiedMethodNames(remaining);
+				try {
+					configureAndRun(request.getConfigurationParameters(), executionListener,
+						testMethods(methodNames), executionOrder.enforceOrder(methodNames),
+						parallelInstantiation.instantiate(remaining), Phase.EXECUTION);
+				}
+				catch (SkipException e) {
+					if (!cancellation.isRequested()) {
+						throw e;
+					}
+				}
+			}
+			watchdog.stop();
+			cancellation.stop();
+			EngineExecutionListener engineListener = listener;
+			cancellation.toReportEntry().ifPresent(
+				entry -> engineListener.reportingEntryPublished(engineDescriptor, entry));
+			failureCompaction.toReportEntry().ifPresent(
+				entry -> engineListener.reportingEntryPublished(engineDescriptor, entry));
+			listener.executionFinished(engineDescriptor, executionListener.toEngineResult());
+		}
+		catch (Throwable t) {
+			failure = t;
+			throw t;
+		}
+		finally {
+			watchdog.stop();
+			cancellation.stop();
+			parallelInstantiation.stop();
 			try {
-				configureAndRun(request.getConfigurationParameters(), executionListener, testMethods(methodNames),
-					Phase.EXECUTION);
+				asyncReporting.awaitCompletion();
 			}
-			catch (SkipException e) {
-				if (!cancellationToken.getAsBoolean()) {
+			catch (RuntimeException | Error e) {
+				// don't mask the failure that caused execution to end prematurely
+				if (failure == null) {
 					throw e;
 				}
+				failure.addSuppressed(e);
 			}
 		}
-		listener.executionFinished(engineDescriptor, executionListener.toEngineResult());
+		executionOrder.persist();
+		impactAnalysis.persist();
+	}
+
+	/**
+	 * @return the directory TestNG writes its reports to, which is where the engine keeps its state between runs
+	 */
+	static Path outputDirectory(ConfigurationParameters config) {
+		return Paths.get(config.get("testng.outputDirectory").orElse(TestNG.DEFAULT_OUTPUTDIR));
 	}
 
 	private static void configureAndRun(ConfigurationParameters configurationParameters, ITestNGListener listener,
@@ -226,18 +374,6 @@ public class TestNGTestEngine implements TestEngine {
 		}
 	}
 
-	private static BooleanSupplier getCancellationToken(ExecutionRequest request) {
-		return ReflectionSupport.findMethod(ExecutionRequest.class, "getCancellationToken") //
-				.map(method -> ReflectionSupport.invokeMethod(method, request)) //
-				.flatMap(TestNGTestEngine::toBooleanSupplier) //
-				.orElse(() -> false);
-	}
-
-	private static Optional<BooleanSupplier> toBooleanSupplier(Object cancellationToken) {
-		return ReflectionSupport.findMethod(cancellationToken.getClass(), "isCancellationRequested") //
-				.map(method -> () -> (boolean) ReflectionSupport.invokeMethod(method, cancellationToken));
-	}
-
 	interface Configurer {
 
 		static Configurer testClasses(Class<?>[] testClasses) {
@@ -291,6 +427,15 @@ public class TestNGTestEngine implements TestEngine {
 						.ifPresent(testNG::setThreadCount);
 				config.get("testng.dataProviderThreadCount", Integer::parseInt) //
 						.ifPresent(testNG::setDataProviderThreadCount);
+				Optional<GeneratedInvokers> generatedInvokers = GeneratedInvokers.from(config);
+				Optional<VirtualThreadTimeouts> virtualThreadTimeouts = VirtualThreadTimeouts.from(config);
+				if (virtualThreadTimeouts.isPresent()) {
+					generatedInvokers.ifPresent(virtualThreadTimeouts.get()::invokeVia);
+					testNG.addListener(virtualThreadTimeouts.get());
+				}
+				else {
+					generatedInvokers.ifPresent(testNG::addListener);
+				}
 			}
 
 			@Override
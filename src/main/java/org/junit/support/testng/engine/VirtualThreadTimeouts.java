@@ -0,0 +1,230 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.IInvokedMethod;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.internal.thread.ThreadTimeoutException;
+
+/**
+ * Enforces the {@code timeOut} of test methods by running their invocations on virtual threads instead of letting
+ * TestNG create a dedicated executor and platform thread for every invocation.
+ * <p>
+ * TestNG only calls a global {@link IHookable} on the invoking thread for methods without a timeout, so the timeouts
+ * of all test methods are recorded and reset to zero when a suite starts and restored when it finishes. Methods of
+ * test classes that implement {@link IHookable} themselves and methods that also declare an {@code invocationTimeOut}
+ * are left to TestNG. An invocation that doesn't finish in time is failed with a {@link ThreadTimeoutException} like
+ * TestNG does, so that listeners are notified via {@code onTestFailedWithTimeout}. Its thread is only interrupted
+ * after TestNG has recorded the result so that the exception caused by the interrupt can't replace the timeout.
+ */
+class VirtualThreadTimeouts extends DefaultListener implements IHookable, ISuiteListener {
+
+	static final String ENABLED_PARAMETER = "testng.execution.timeouts.virtualThreads";
+
+	private static final Logger LOGGER = Logger.getLogger(VirtualThreadTimeouts.class.getName());
+	private static final String TIMED_OUT_THREAD_ATTRIBUTE = VirtualThreadTimeouts.class.getName() + ".thread";
+
+	// Thread.ofVirtual() was added in Java 21
+	private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+	private final ThreadFactory threadFactory;
+	private final Map<ITestNGMethod, Long> timeouts = new ConcurrentHashMap<>();
+	private IHookable invocation = (callBack, testResult) -> callBack.runTestMethod(testResult);
+
+	static Optional<VirtualThreadTimeouts> from(ConfigurationParameters config) {
+		if (!config.getBoolean(ENABLED_PARAMETER).orElse(false)) {
+			return Optional.empty();
+		}
+		if (VIRTUAL_THREAD_FACTORY == null) {
+			LOGGER.warning(() -> "Ignoring " + ENABLED_PARAMETER
+					+ " since virtual threads are not available on this JVM; timeouts are enforced by TestNG");
+			return Optional.empty();
+		}
+		if (config.get("testng.listeners").filter(VirtualThreadTimeouts::containsHookable).isPresent()) {
+			LOGGER.warning(() -> "Ignoring " + ENABLED_PARAMETER
+					+ " since a custom IHookable is registered via testng.listeners; timeouts are enforced by TestNG");
+			return Optional.empty();
+		}
+		return Optional.of(new VirtualThreadTimeouts(VIRTUAL_THREAD_FACTORY));
+	}
+
+	private static ThreadFactory createVirtualThreadFactory() {
+		Optional<Method> ofVirtual = ReflectionSupport.findMethod(Thread.class, "ofVirtual");
+		Optional<Class<?>> builderType = ReflectionSupport.tryToLoadClass("java.lang.Thread$Builder").toOptional();
+		if (!ofVirtual.isPresent() || !builderType.isPresent()) {
+			return null;
+		}
+		Object builder = ReflectionSupport.invokeMethod(ofVirtual.get(), null);
+		builder = ReflectionSupport.invokeMethod(
+			ReflectionSupport.findMethod(builderType.get(), "name", String.class, long.class).get(), builder,
+			"testng-engine-timeout-", 0L);
+		return (ThreadFactory) ReflectionSupport.invokeMethod(
+			ReflectionSupport.findMethod(builderType.get(), "factory").get(), builder);
+	}
+
+	static boolean containsHookable(String listeners) {
+		return Arrays.stream(listeners.split(",")) //
+				.map(String::trim) //
+				.filter(className -> !className.isEmpty()) //
+				.map(className -> ReflectionSupport.tryToLoadClass(className).toOptional()) //
+				.anyMatch(type -> type.filter(IHookable.class::isAssignableFrom).isPresent());
+	}
+
+	VirtualThreadTimeouts(ThreadFactory threadFactory) {
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Invoke test methods via the supplied hookable, e.g. {@link GeneratedInvokers}, since TestNG only supports one.
+	 */
+	void invokeVia(IHookable invocation) {
+		this.invocation = invocation;
+	}
+
+	@Override
+	public void onStart(ISuite suite) {
+		for (ITestNGMethod method : suite.getAllMethods()) {
+			if (method.getTimeOut() > 0 && method.getInvocationTimeOut() <= 0
+					&& !IHookable.class.isAssignableFrom(method.getRealClass())) {
+				timeouts.put(method, method.getTimeOut());
+				method.setTimeOut(0);
+			}
+		}
+	}
+
+	@Override
+	public void onFinish(ISuite suite) {
+		timeouts.forEach(ITestNGMethod::setTimeOut);
+		timeouts.clear();
+	}
+
+	@Override
+	public void run(IHookCallBack callBack, ITestResult testResult) {
+		Long timeout = timeouts.get(testResult.getMethod());
+		if (timeout == null) {
+			invocation.run(callBack, testResult);
+			return;
+		}
+		AtomicReference<Throwable> throwable = new AtomicReference<>();
+		AtomicReference<Integer> status = new AtomicReference<>();
+		ITestResult isolatedTestResult = isolate(testResult, throwable, status);
+		Thread thread = threadFactory.newThread(() -> invocation.run(callBack, isolatedTestResult));
+		thread.start();
+		if (await(thread, timeout)) {
+			testResult.setThrowable(throwable.get());
+			if (status.get() != null) {
+				testResult.setStatus(status.get());
+			}
+		}
+		else {
+			ThreadTimeoutException exception = new ThreadTimeoutException("Method "
+					+ testResult.getMethod().getQualifiedName() + "() didn't finish within the time-out " + timeout);
+			exception.setStackTrace(thread.getStackTrace());
+			testResult.setThrowable(exception);
+			testResult.setStatus(ITestResult.FAILURE);
+			testResult.setAttribute(TIMED_OUT_THREAD_ATTRIBUTE, thread);
+		}
+	}
+
+	/**
+	 * TestNG's callback sets the throwable and {@link GeneratedInvokers} also the status of the test result they are
+	 * passed when the test method returns, so it must not be the actual one in case that happens after the invocation
+	 * has been failed due to its timeout.
+	 */
+	private static ITestResult isolate(ITestResult testResult, AtomicReference<Throwable> throwable,
+			AtomicReference<Integer> status) {
+		return (ITestResult) Proxy.newProxyInstance(ITestResult.class.getClassLoader(),
+			new Class<?>[] { ITestResult.class }, (proxy, method, args) -> {
+				if (method.getName().equals("setThrowable")) {
+					throwable.set((Throwable) args[0]);
+					return null;
+				}
+				if (method.getName().equals("getThrowable")) {
+					return throwable.get();
+				}
+				if (method.getName().equals("setStatus")) {
+					status.set((Integer) args[0]);
+					return null;
+				}
+				if (method.getName().equals("getStatus") && status.get() != null) {
+					return status.get();
+				}
+				try {
+					return method.invoke(testResult, args);
+				}
+				catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			});
+	}
+
+	/**
+	 * Wait for the supplied thread to finish; if the current thread is interrupted while waiting, e.g. due to
+	 * cancellation, the interrupt is passed on to the test.
+	 *
+	 * @return whether the thread finished in time
+	 */
+	private static boolean await(Thread thread, long timeoutMillis) {
+		long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeoutMillis);
+		boolean interrupted = false;
+		try {
+			while (thread.isAlive()) {
+				long remainingNanos = deadline - System.nanoTime();
+				if (remainingNanos <= 0) {
+					return false;
+				}
+				try {
+					thread.join(Math.max(1, NANOSECONDS.toMillis(remainingNanos)));
+				}
+				catch (InterruptedException e) {
+					thread.interrupt();
+					interrupted = true;
+				}
+			}
+			return true;
+		}
+		finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+		Object thread = testResult.getAttribute(TIMED_OUT_THREAD_ATTRIBUTE);
+		if (thread != null) {
+			testResult.removeAttribute(TIMED_OUT_THREAD_ATTRIBUTE);
+			((Thread) thread).interrupt();
+		}
+	}
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.IOException;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+
+/**
+ * Detects hung tests by tracking the descriptors that have been reported as started but not yet as finished.
+ * <p>
+ * A daemon thread checks whether no test or container has started or finished for longer than the idle timeout or
+ * whether a test class has been running for longer than the class timeout. In either case, it writes the in-flight
+ * descriptors, all deadlocked threads, and the stack traces of all threads to a file in the output directory and, if
+ * configured, cancels execution. Every stall and every class is reported at most once.
+ */
+class Watchdog {
+
+	static final String IDLE_TIMEOUT_PARAMETER = "testng.execution.watchdog.idleTimeoutMillis";
+	static final String CLASS_TIMEOUT_PARAMETER = "testng.execution.watchdog.classTimeoutMillis";
+	static final String CANCEL_PARAMETER = "testng.execution.watchdog.cancel";
+	static final String DUMP_FILE_PREFIX = "testng-engine-watchdog-";
+
+	static final Watchdog DISABLED = new Watchdog(null, -1, -1, false);
+
+	private static final Logger LOGGER = Logger.getLogger(Watchdog.class.getName());
+	private static final long MIN_CHECK_INTERVAL_NANOS = MILLISECONDS.toNanos(10);
+	private static final long MAX_CHECK_INTERVAL_NANOS = MILLISECONDS.toNanos(1_000);
+
+	private final Path outputDirectory;
+	private final long idleTimeoutNanos;
+	private final long classTimeoutNanos;
+	private final boolean cancel;
+	private final Map<TestDescriptor, Long> inFlightDescriptors = new ConcurrentHashMap<>();
+	private final Set<TestDescriptor> reportedClasses = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger dumps = new AtomicInteger();
+	private volatile long lastProgressNanos = System.nanoTime();
+	private volatile boolean stallReported;
+	private volatile boolean stopped;
+	private Cancellation cancellation;
+	private Thread thread;
+
+	static Watchdog from(ConfigurationParameters config) {
+		long idleTimeoutNanos = getTimeoutNanos(config, IDLE_TIMEOUT_PARAMETER);
+		long classTimeoutNanos = getTimeoutNanos(config, CLASS_TIMEOUT_PARAMETER);
+		if (idleTimeoutNanos < 0 && classTimeoutNanos < 0) {
+			return DISABLED;
+		}
+		return new Watchdog(TestNGTestEngine.outputDirectory(config), idleTimeoutNanos, classTimeoutNanos,
+			config.getBoolean(CANCEL_PARAMETER).orElse(false));
+	}
+
+	private static long getTimeoutNanos(ConfigurationParameters config, String key) {
+		return config.get(key, Long::parseLong) //
+				.map(millis -> {
+					if (millis <= 0) {
+						throw new IllegalArgumentException("Unsupported value for " + key + ": " + millis);
+					}
+					return MILLISECONDS.toNanos(millis);
+				}) //
+				.orElse(-1L);
+	}
+
+	private Watchdog(Path outputDirectory, long idleTimeoutNanos, long classTimeoutNanos, boolean cancel) {
+		this.outputDirectory = outputDirectory;
+		this.idleTimeoutNanos = idleTimeoutNanos;
+		this.classTimeoutNanos = classTimeoutNanos;
+		this.cancel = cancel;
+	}
+
+	/**
+	 * Track the descriptors reported as started and finished to the supplied listener.
+	 */
+	EngineExecutionListener track(EngineExecutionListener delegate) {
+		if (this == DISABLED) {
+			return delegate;
+		}
+		return new DelegatingEngineExecutionListener(delegate) {
+			@Override
+			public void executionStarted(TestDescriptor testDescriptor) {
+				inFlightDescriptors.put(testDescriptor, progress());
+				super.executionStarted(testDescriptor);
+			}
+
+			@Override
+			public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+				super.executionFinished(testDescriptor, testExecutionResult);
+				inFlightDescriptors.remove(testDescriptor);
+				progress();
+			}
+		};
+	}
+
+	private long progress() {
+		long now = System.nanoTime();
+		lastProgressNanos = now;
+		stallReported = false;
+		return now;
+	}
+
+	void start(Cancellation cancellation) {
+		if (this == DISABLED) {
+			return;
+		}
+		this.cancellation = cancellation;
+		progress();
+		thread = new Thread(this::watch, "testng-engine-watchdog");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void watch() {
+		long interval = Math.min(idleTimeoutNanos < 0 ? Long.MAX_VALUE : idleTimeoutNanos,
+			classTimeoutNanos < 0 ? Long.MAX_VALUE : classTimeoutNanos) / 4;
+		interval = Math.max(MIN_CHECK_INTERVAL_NANOS, Math.min(MAX_CHECK_INTERVAL_NANOS, interval));
+		while (!stopped) {
+			LockSupport.parkNanos(this, interval);
+			if (!stopped) {
+				check(System.nanoTime());
+			}
+		}
+	}
+
+	private void check(long now) {
+		if (idleTimeoutNanos >= 0 && !stallReported && now - lastProgressNanos >= idleTimeoutNanos) {
+			stallReported = true;
+			report("No test started or finished for " + NANOSECONDS.toMillis(now - lastProgressNanos) + " ms", now);
+		}
+		if (classTimeoutNanos >= 0) {
+			inFlightDescriptors.forEach((descriptor, startedNanos) -> {
+				if (descriptor instanceof ClassDescriptor && now - startedNanos >= classTimeoutNanos
+						&& reportedClasses.add(descriptor)) {
+					report(descriptor.getDisplayName() + " has been running for "
+							+ NANOSECONDS.toMillis(now - startedNanos) + " ms",
+						now);
+				}
+			});
+		}
+	}
+
+	private void report(String reason, long now) {
+		Path file = outputDirectory.resolve(
+			DUMP_FILE_PREFIX + System.currentTimeMillis() + "-" + dumps.incrementAndGet() + ".txt");
+		try {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			Files.write(file, dump(reason, now), UTF_8);
+			LOGGER.warning(() -> reason + "; wrote thread dump to " + file);
+		}
+		catch (IOException e) {
+			LOGGER.log(Level.WARNING, e, () -> reason + "; failed to write thread dump to " + file);
+		}
+		if (cancel) {
+			cancellation.request();
+		}
+	}
+
+	private List<String> dump(String reason, long now) {
+		List<String> lines = new ArrayList<>();
+		lines.add("# " + reason + " at " + Instant.now());
+		lines.add("");
+		lines.add("In-flight tests and containers:");
+		inFlightDescriptors.forEach((descriptor, startedNanos) -> lines.add("  " + descriptor.getUniqueId()
+				+ " (running for " + NANOSECONDS.toMillis(now - startedNanos) + " ms)"));
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		long[] deadlockedThreadIds = threadMXBean.isSynchronizerUsageSupported()
+				? threadMXBean.findDeadlockedThreads()
+				: threadMXBean.findMonitorDeadlockedThreads();
+		lines.add("");
+		if (deadlockedThreadIds == null) {
+			lines.add("No deadlocked threads");
+		}
+		else {
+			lines.add("Deadlocked threads:");
+			for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(deadlockedThreadIds)) {
+				if (threadInfo != null) {
+					lines.add("  \"" + threadInfo.getThreadName() + "\" waiting for " + threadInfo.getLockName()
+							+ " held by \"" + threadInfo.getLockOwnerName() + "\"");
+				}
+			}
+		}
+		for (ThreadInfo threadInfo : threadMXBean.dumpAllThreads(threadMXBean.isObjectMonitorUsageSupported(),
+			threadMXBean.isSynchronizerUsageSupported())) {
+			lines.add("");
+			appendThreadInfo(lines, threadInfo);
+		}
+		return lines;
+	}
+
+	// ThreadInfo.toString() only includes the top eight stack frames
+	private static void appendThreadInfo(List<String> lines, ThreadInfo threadInfo) {
+		StringBuilder header = new StringBuilder() //
+				.append('"').append(threadInfo.getThreadName()).append("\" id=").append(threadInfo.getThreadId()) //
+				.append(' ').append(threadInfo.getThreadState());
+		if (threadInfo.getLockName() != null) {
+			header.append(" on ").append(threadInfo.getLockName());
+		}
+		if (threadInfo.getLockOwnerName() != null) {
+			header.append(" owned by \"").append(threadInfo.getLockOwnerName()).append('"');
+		}
+		lines.add(header.toString());
+		StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+		for (int i = 0; i < stackTrace.length; i++) {
+			lines.add("\tat " + stackTrace[i]);
+			for (MonitorInfo monitor : threadInfo.getLockedMonitors()) {
+				if (monitor.getLockedStackDepth() == i) {
+					lines.add("\t- locked " + monitor);
+				}
+			}
+		}
+		LockInfo[] lockedSynchronizers = threadInfo.getLockedSynchronizers();
+		if (lockedSynchronizers.length > 0) {
+			lines.add("\tLocked synchronizers:");
+			for (LockInfo synchronizer : lockedSynchronizers) {
+				lines.add("\t- " + synchronizer);
+			}
+		}
+	}
+
+	/**
+	 * Stop watching; may be called more than once.
+	 */
+	void stop() {
+		if (stopped || thread == null) {
+			return;
+		}
+		stopped = true;
+		LockSupport.unpark(thread);
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			try {
+				thread.join();
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -19,5 +19,6 @@ module org.junit.support.testng.engine {
     requires org.junit.platform.engine;
     requires org.testng;
     requires java.logging;
+    requires java.management;
     provides org.junit.platform.engine.TestEngine with org.junit.support.testng.engine.TestNGTestEngine;
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentIdentityMapTests {
+
+	private static final int THREADS = 16;
+	private static final int KEYS_PER_THREAD = 10_000;
+
+	@Test
+	void findsEveryEntryWhileOthersAreAddedAndRemovedConcurrently() throws Exception {
+		var map = new ConcurrentIdentityMap<Object, Integer>();
+		var permanentKeys = new ArrayList<Object>();
+		for (int i = 0; i < KEYS_PER_THREAD; i++) {
+			var key = new Object();
+			permanentKeys.add(key);
+			assertThat(map.putIfAbsent(key, -1)).isNull();
+		}
+		var violations = new ConcurrentLinkedQueue<String>();
+		var ready = new CountDownLatch(THREADS);
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			Integer thread = t;
+			tasks.add(() -> {
+				ready.countDown();
+				ready.await();
+				for (int i = 0; i < KEYS_PER_THREAD; i++) {
+					var key = new Object();
+					if (map.putIfAbsent(key, thread) != null || !thread.equals(map.get(key))) {
+						violations.add("entry of thread " + thread + " not found after adding it");
+					}
+					if (!thread.equals(map.putIfAbsent(key, -2))) {
+						violations.add("entry of thread " + thread + " replaced");
+					}
+					if (!Integer.valueOf(-1).equals(map.get(permanentKeys.get(i)))) {
+						violations.add("permanent entry not found");
+					}
+					if (i % 1_000 == 999) {
+						map.removeIf(thread::equals);
+						if (map.get(key) != null) {
+							violations.add("entry of thread " + thread + " found after removing it");
+						}
+					}
+				}
+				return null;
+			});
+		}
+
+		var executorService = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (Future<Void> future : executorService.invokeAll(tasks, 60, SECONDS)) {
+				future.get();
+			}
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+
+		assertThat(violations).isEmpty();
+		permanentKeys.forEach(key -> assertThat(map.get(key)).isEqualTo(-1));
+	}
+
+}
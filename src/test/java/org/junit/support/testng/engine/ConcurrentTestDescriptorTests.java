@@ -0,0 +1,179 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+class ConcurrentTestDescriptorTests {
+
+	private static final int WRITERS = 32;
+	private static final int CHILDREN_PER_WRITER = 2_000;
+
+	private final ExecutorService executorService = Executors.newFixedThreadPool(WRITERS + 1);
+	private final TestDescriptor parent = new ConcurrentTestDescriptor(UniqueId.forEngine("testng"), "parent", null) {
+		@Override
+		public Type getType() {
+			return Type.CONTAINER;
+		}
+	};
+
+	@AfterEach
+	void shutdownExecutor() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	void registersChildrenConcurrentlyInStableInsertionOrder() throws Exception {
+		var violations = new ConcurrentLinkedQueue<String>();
+
+		runConcurrently(writer -> {
+			for (int i = 0; i < CHILDREN_PER_WRITER; i++) {
+				parent.addChild(newChild(writer, i));
+			}
+		}, () -> assertInsertionOrderPerWriter(violations));
+
+		assertThat(violations).isEmpty();
+		assertThat(parent.getChildren()).hasSize(WRITERS * CHILDREN_PER_WRITER);
+		assertThat(parent.getChildren()).allSatisfy(child -> assertThat(child.getParent()).containsSame(parent));
+		assertInsertionOrderPerWriter(violations);
+		assertThat(violations).isEmpty();
+
+		List<TestDescriptor> firstIteration = new ArrayList<>(parent.getChildren());
+		assertThat(new ArrayList<TestDescriptor>(parent.getChildren())).containsExactlyElementsOf(firstIteration);
+	}
+
+	@Test
+	void removesChildrenConcurrentlyWhileOthersAreAdded() throws Exception {
+		var violations = new ConcurrentLinkedQueue<String>();
+
+		runConcurrently(writer -> {
+			for (int i = 0; i < CHILDREN_PER_WRITER; i++) {
+				var child = newChild(writer, i);
+				parent.addChild(child);
+				if (!parent.getChildren().contains(child)) {
+					violations.add(child + " missing after being added");
+				}
+				if (i % 2 == 0) {
+					parent.removeChild(child);
+					if (child.getParent().isPresent() || parent.getChildren().contains(child)) {
+						violations.add(child + " still present after being removed");
+					}
+				}
+			}
+		}, () -> assertInsertionOrderPerWriter(violations));
+
+		assertThat(violations).isEmpty();
+		assertThat(parent.getChildren()).hasSize(WRITERS * CHILDREN_PER_WRITER / 2);
+		assertThat(parent.getChildren()).allSatisfy(child -> assertThat(childIndex(child) % 2).isOne());
+		assertInsertionOrderPerWriter(violations);
+		assertThat(violations).isEmpty();
+	}
+
+	@Test
+	void ignoresConcurrentlyAddedDuplicates() throws Exception {
+		runConcurrently(writer -> {
+			for (int i = 0; i < CHILDREN_PER_WRITER; i++) {
+				parent.addChild(newChild(0, i));
+			}
+		}, () -> {
+		});
+
+		assertThat(parent.getChildren()).hasSize(CHILDREN_PER_WRITER);
+		int expectedIndex = 0;
+		for (TestDescriptor child : parent.getChildren()) {
+			assertThat(childIndex(child)).isEqualTo(expectedIndex++);
+		}
+	}
+
+	private void runConcurrently(WriterTask writerTask, Runnable readerTask) throws Exception {
+		var ready = new CountDownLatch(WRITERS + 1);
+		var writersDone = new AtomicBoolean();
+		List<Callable<Void>> writers = new ArrayList<>();
+		for (int i = 0; i < WRITERS; i++) {
+			int writer = i;
+			writers.add(() -> {
+				ready.countDown();
+				ready.await();
+				writerTask.run(writer);
+				return null;
+			});
+		}
+		Future<?> reader = executorService.submit(() -> {
+			ready.countDown();
+			ready.await();
+			while (!writersDone.get()) {
+				readerTask.run();
+			}
+			return null;
+		});
+		try {
+			for (Future<Void> future : executorService.invokeAll(writers, 60, SECONDS)) {
+				future.get();
+			}
+		}
+		finally {
+			writersDone.set(true);
+		}
+		reader.get(60, SECONDS);
+	}
+
+	private void assertInsertionOrderPerWriter(ConcurrentLinkedQueue<String> violations) {
+		int[] lastIndices = new int[WRITERS];
+		Arrays.fill(lastIndices, -1);
+		for (TestDescriptor child : parent.getChildren()) {
+			int writer = writerOf(child);
+			int index = childIndex(child);
+			if (index <= lastIndices[writer]) {
+				violations.add(child + " iterated after child " + lastIndices[writer] + " of the same writer");
+			}
+			lastIndices[writer] = index;
+		}
+	}
+
+	private InvocationDescriptor newChild(int writer, int index) {
+		var uniqueId = parent.getUniqueId().append(InvocationDescriptor.SEGMENT_TYPE, writer + ":" + index);
+		return new InvocationDescriptor(uniqueId, "[" + index + "]", "m[" + index + "]", MethodSource.from("C", "m"));
+	}
+
+	private static int writerOf(TestDescriptor child) {
+		String value = child.getUniqueId().getLastSegment().getValue();
+		return Integer.parseInt(value.substring(0, value.indexOf(':')));
+	}
+
+	private static int childIndex(TestDescriptor child) {
+		String value = child.getUniqueId().getLastSegment().getValue();
+		return Integer.parseInt(value.substring(value.indexOf(':') + 1));
+	}
+
+	@FunctionalInterface
+	private interface WriterTask {
+		void run(int writer);
+	}
+
+}
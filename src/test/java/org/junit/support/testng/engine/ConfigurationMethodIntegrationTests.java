@@ -20,19 +20,18 @@ import static org.junit.platform.testkit.engine.EventConditions.finishedWithFail
 import static org.junit.platform.testkit.engine.EventConditions.started;
 import static org.junit.platform.testkit.engine.EventConditions.test;
 import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
-import static org.junit.support.testng.engine.TestContext.testNGVersion;
 
 import example.configuration.methods.FailingAfterClassConfigurationMethodTestCase;
 import example.configuration.methods.FailingAfterMethodConfigurationMethodTestCase;
 import example.configuration.methods.FailingAfterSuiteConfigurationMethodTestCase;
 import example.configuration.methods.FailingAfterTestConfigurationMethodTestCase;
 import example.configuration.methods.FailingBeforeClassConfigurationMethodTestCase;
+import example.configuration.methods.FailingBeforeClassDataProviderTestCase;
 import example.configuration.methods.FailingBeforeMethodConfigurationMethodTestCase;
 import example.configuration.methods.FailingBeforeSuiteConfigurationMethodTestCase;
 import example.configuration.methods.FailingBeforeTestConfigurationMethodTestCase;
 import example.configuration.methods.GroupsConfigurationMethodsTestCase;
 
-import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -44,10 +43,25 @@ class ConfigurationMethodIntegrationTests extends AbstractIntegrationTests {
 		var results = testNGEngine().selectors(
 			selectClass(FailingBeforeClassConfigurationMethodTestCase.class)).execute();
 
-		results.allEvents().assertEventsMatchLooselyInOrder( //
+		results.allEvents().assertEventsMatchExactly( //
+			event(engine(), started()), //
 			event(testClass(FailingBeforeClassConfigurationMethodTestCase.class), started()), //
 			event(testClass(FailingBeforeClassConfigurationMethodTestCase.class),
-				finishedWithFailure(message("boom"))));
+				finishedWithFailure(message("boom"))), //
+			event(engine(), finishedSuccessfully()));
+	}
+
+	@Test
+	void doesNotReportDataProviderMethodsPreventedByFailingBeforeClassMethod() {
+		var testClass = FailingBeforeClassDataProviderTestCase.class;
+
+		var results = testNGEngine().selectors(selectClass(testClass)).execute();
+
+		results.allEvents().assertEventsMatchExactly( //
+			event(engine(), started()), //
+			event(testClass(testClass), started()), //
+			event(testClass(testClass), finishedWithFailure(message("boom"))), //
+			event(engine(), finishedSuccessfully()));
 	}
 
 	@Test
@@ -71,15 +85,10 @@ class ConfigurationMethodIntegrationTests extends AbstractIntegrationTests {
 	void reportsFailureFromEarlyEngineLevelConfigurationMethodAsAborted(Class<?> testClass) {
 		var results = testNGEngine().selectors(selectClass(testClass)).execute();
 
-		var reportsReasonOnClassLevel = testNGVersion().compareTo(new ComparableVersion("7.13")) >= 0;
-
-		results.allEvents().debug().assertEventsMatchExactly( //
+		results.allEvents().assertEventsMatchExactly( //
 			event(engine(), started()), //
 			event(testClass(testClass), started()), //
-			event(test("method:test()"), started()), //
-			event(test("method:test()"), abortedWithReason(message("boom"))), //
-			event(testClass(testClass),
-				reportsReasonOnClassLevel ? abortedWithReason(message("boom")) : abortedWithoutReason()), //
+			event(testClass(testClass), abortedWithReason(message("boom"))), //
 			event(engine(), finishedWithFailure(message("boom"))));
 	}
 
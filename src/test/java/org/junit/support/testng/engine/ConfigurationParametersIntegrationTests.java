@@ -10,25 +10,67 @@
 
 package org.junit.support.testng.engine;
 
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.abortedWithReason;
+import static org.junit.platform.testkit.engine.EventConditions.engine;
 import static org.junit.platform.testkit.engine.EventConditions.event;
 import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
 import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.EventConditions.skippedWithReason;
 import static org.junit.platform.testkit.engine.EventConditions.started;
 import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.EventConditions.type;
+import static org.junit.platform.testkit.engine.EventType.REPORTING_ENTRY_PUBLISHED;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
 
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import example.basics.CancellingTestCase;
+import example.basics.DirectlyInvocableTestCase;
+import example.basics.PostCancellationTestCase;
+import example.basics.SimpleTestCase;
+import example.basics.TwoMethodsTestCase;
+import example.configuration.methods.GroupsConfigurationMethodsTestCase;
+import example.configuration.parameters.ConstructionTrackingTestCase;
 import example.configuration.parameters.DataProviderThreadCountTestCase;
+import example.configuration.parameters.FailingConstructionTrackingTestCase;
+import example.configuration.parameters.FirstConstructionTrackingTestCase;
+import example.configuration.parameters.FourthConstructionTrackingTestCase;
+import example.configuration.parameters.GeneratedInvokersTestCase;
+import example.configuration.parameters.GroupConfiguredTestCase;
+import example.configuration.parameters.GroupConfiguringTestCase;
+import example.configuration.parameters.GroupDependentTestCase;
+import example.configuration.parameters.GroupProducingTestCase;
+import example.configuration.parameters.HangingTestCase;
 import example.configuration.parameters.InvocationTrackingListener;
+import example.configuration.parameters.MethodDependentTestCase;
 import example.configuration.parameters.ParallelMethodsTestCase;
 import example.configuration.parameters.PreserveOrderTestCase;
 import example.configuration.parameters.ReturnValuesTestCase;
+import example.configuration.parameters.SecondConstructionTrackingTestCase;
+import example.configuration.parameters.SuiteConfiguringTestCase;
+import example.configuration.parameters.SuiteCountingListener;
 import example.configuration.parameters.SystemPropertyProvidingListener;
 import example.configuration.parameters.SystemPropertyReadingTestCase;
+import example.configuration.parameters.ThirdConstructionTrackingTestCase;
+import example.dataproviders.DataProviderMethodTestCase;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.junit.platform.testkit.engine.Event;
+import org.testng.SkipException;
 
 class ConfigurationParametersIntegrationTests extends AbstractIntegrationTests {
 
@@ -122,4 +164,442 @@ class ConfigurationParametersIntegrationTests extends AbstractIntegrationTests {
 
 		results.testEvents().debug().assertStatistics(stats -> stats.succeeded(numInvocations));
 	}
+
+	@Test
+	void executesPreviouslyFailedTestsFirst() {
+		var firstRun = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(DataProviderMethodTestCase.class)) //
+				.configurationParameter("testng.execution.order", "failedFirst") //
+				.execute();
+
+		firstRun.containerEvents().assertEventsMatchLooselyInOrder( //
+			event(testClass(TwoMethodsTestCase.class), started()), //
+			event(testClass(DataProviderMethodTestCase.class), started()));
+		assertThat(tempDir.resolve(ExecutionOrder.FAILED_TESTS_FILE_NAME)).content() //
+				.contains(DataProviderMethodTestCase.class.getName() + "]/[method:test()]");
+
+		var secondRun = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(DataProviderMethodTestCase.class)) //
+				.configurationParameter("testng.execution.order", "failedFirst") //
+				.execute();
+
+		secondRun.allEvents().assertEventsMatchLooselyInOrder( //
+			event(engine(), started()), //
+			event(testClass(DataProviderMethodTestCase.class), started()), //
+			event(test("method:test()"), started()), //
+			event(testClass(DataProviderMethodTestCase.class), finishedSuccessfully()), //
+			event(testClass(TwoMethodsTestCase.class), started()));
+		assertThat(secondRun.testEvents().finished().count()) //
+				.isEqualTo(firstRun.testEvents().finished().count());
+	}
+
+	@Test
+	void remembersPreviouslyFailedTestsThatDidNotRun() {
+		testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(DataProviderMethodTestCase.class)) //
+				.configurationParameter("testng.execution.order", "failedFirst") //
+				.execute();
+		var failedTestsFile = tempDir.resolve(ExecutionOrder.FAILED_TESTS_FILE_NAME);
+		assertThat(failedTestsFile).content() //
+				.contains(DataProviderMethodTestCase.class.getName() + "]/[method:test()]");
+
+		var partialRun = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class)) //
+				.configurationParameter("testng.execution.order", "failedFirst") //
+				.execute();
+
+		partialRun.testEvents().assertStatistics(stats -> stats.succeeded(2));
+		assertThat(failedTestsFile).content() //
+				.contains(DataProviderMethodTestCase.class.getName() + "]/[method:test()]");
+	}
+
+	@Test
+	void skipsTestsThatPassedPreviouslyIfTheirDependenciesAreUnchanged() throws Exception {
+		var firstRun = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(SimpleTestCase.class)) //
+				.configurationParameter("testng.execution.impactAnalysis", "true") //
+				.execute();
+
+		firstRun.testEvents().assertStatistics(stats -> stats.started(6).succeeded(3));
+		var stateFile = tempDir.resolve(ImpactAnalysis.STATE_FILE_NAME);
+		assertThat(stateFile).content() //
+				.contains("dependency " + TwoMethodsTestCase.class.getName()) //
+				.contains("passed successful()");
+
+		var secondRun = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(SimpleTestCase.class)) //
+				.configurationParameter("testng.execution.impactAnalysis", "true") //
+				.execute();
+
+		secondRun.containerEvents().assertThatEvents() //
+				.haveExactly(0, event(testClass(TwoMethodsTestCase.class))) //
+				.haveExactly(1, event(testClass(SimpleTestCase.class), started()));
+		secondRun.testEvents().assertThatEvents() //
+				.haveExactly(0, event(test("method:successful()"))) //
+				.haveExactly(1, event(test("method:failing()"), finishedWithFailure()));
+
+		Files.write(stateFile, Files.readAllLines(stateFile).stream() //
+				.map(line -> line.startsWith("class " + TwoMethodsTestCase.class.getName()) //
+						? "class " + TwoMethodsTestCase.class.getName() + " outdated" //
+						: line) //
+				.toList());
+
+		var thirdRun = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(SimpleTestCase.class)) //
+				.configurationParameter("testng.execution.impactAnalysis", "true") //
+				.execute();
+
+		thirdRun.allEvents().assertEventsMatchLooselyInOrder( //
+			event(testClass(TwoMethodsTestCase.class), started()), //
+			event(test("method:one()"), finishedSuccessfully()), //
+			event(test("method:two()"), finishedSuccessfully()), //
+			event(testClass(TwoMethodsTestCase.class), finishedSuccessfully()));
+	}
+
+	@Test
+	void neverSkipsTestsOfTestClassesThatInteractWithOtherTestClasses() {
+		testNGEngine() //
+				.selectors(selectClass(GroupsConfigurationMethodsTestCase.class)) //
+				.configurationParameter("testng.execution.impactAnalysis", "true") //
+				.execute() //
+				.testEvents() //
+				.assertStatistics(stats -> stats.succeeded(3));
+		GroupsConfigurationMethodsTestCase.EVENTS.clear();
+
+		var secondRun = testNGEngine() //
+				.selectors(selectClass(GroupsConfigurationMethodsTestCase.class)) //
+				.configurationParameter("testng.execution.impactAnalysis", "true") //
+				.execute();
+
+		secondRun.testEvents().assertStatistics(stats -> stats.succeeded(3));
+		assertThat(GroupsConfigurationMethodsTestCase.EVENTS).contains("beforeGroup1", "beforeGroup2");
+	}
+
+	@Test
+	void keepsImpactAnalysisStateOfTestClassesWithCachedResults() throws Exception {
+		testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class)) //
+				.configurationParameter("testng.execution.impactAnalysis", "true") //
+				.configurationParameter("testng.execution.resultCache.enabled", "true") //
+				.execute();
+		var stateFile = tempDir.resolve(ImpactAnalysis.STATE_FILE_NAME);
+		Files.write(stateFile, Files.readAllLines(stateFile).stream() //
+				.map(line -> line.startsWith("class " + TwoMethodsTestCase.class.getName()) //
+						? "class " + TwoMethodsTestCase.class.getName() + " outdated" //
+						: line) //
+				.toList());
+
+		var secondRun = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class)) //
+				.configurationParameter("testng.execution.impactAnalysis", "true") //
+				.configurationParameter("testng.execution.resultCache.enabled", "true") //
+				.execute();
+
+		secondRun.testEvents().assertStatistics(stats -> stats.skipped(2).started(0));
+		assertThat(stateFile).content() //
+				.contains("class " + TwoMethodsTestCase.class.getName() + " outdated") //
+				.contains("passed one()");
+	}
+
+	@Test
+	void reportsTestClassesWithCachedPassingResultsAsSkipped() {
+		var firstRun = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(SimpleTestCase.class)) //
+				.configurationParameter("testng.execution.resultCache.enabled", "true") //
+				.execute();
+
+		firstRun.testEvents().assertStatistics(stats -> stats.started(6).skipped(0));
+
+		var secondRun = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(SimpleTestCase.class)) //
+				.configurationParameter("testng.execution.resultCache.enabled", "true") //
+				.execute();
+
+		secondRun.allEvents().assertEventsMatchLooselyInOrder( //
+			event(testClass(TwoMethodsTestCase.class), started()), //
+			event(test("method:one()"), skippedWithReason(ResultCache.CACHED_REASON)), //
+			event(test("method:two()"), skippedWithReason(ResultCache.CACHED_REASON)), //
+			event(testClass(TwoMethodsTestCase.class), finishedSuccessfully()));
+		secondRun.testEvents().assertThatEvents() //
+				.haveExactly(1, event(test("method:failing()"), finishedWithFailure()));
+
+		var runWithDifferentConfiguration = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class)) //
+				.configurationParameter("testng.execution.resultCache.enabled", "true") //
+				.configurationParameter("testng.preserveOrder", "false") //
+				.execute();
+
+		runWithDifferentConfiguration.testEvents().assertStatistics(stats -> stats.started(2).succeeded(2));
+	}
+
+	@Test
+	void neverSkipsCachedTestClassesThatInteractWithOtherTestClasses() {
+		testNGEngine() //
+				.selectors(selectClass(GroupsConfigurationMethodsTestCase.class)) //
+				.configurationParameter("testng.execution.resultCache.enabled", "true") //
+				.execute() //
+				.testEvents() //
+				.assertStatistics(stats -> stats.succeeded(3));
+		GroupsConfigurationMethodsTestCase.EVENTS.clear();
+
+		var secondRun = testNGEngine() //
+				.selectors(selectClass(GroupsConfigurationMethodsTestCase.class)) //
+				.configurationParameter("testng.execution.resultCache.enabled", "true") //
+				.execute();
+
+		secondRun.testEvents().assertStatistics(stats -> stats.succeeded(3).skipped(0));
+		assertThat(GroupsConfigurationMethodsTestCase.EVENTS).contains("beforeGroup1", "beforeGroup2");
+	}
+
+	@Test
+	void executesTestClassesInBatches() {
+		SuiteCountingListener.startedSuites = 0;
+
+		var results = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(DataProviderMethodTestCase.class)) //
+				.configurationParameter("testng.execution.batchSize", "1") //
+				.configurationParameter("testng.listeners", SuiteCountingListener.class.getName()) //
+				.execute();
+
+		assertThat(SuiteCountingListener.startedSuites).isEqualTo(2);
+		results.containerEvents().assertStatistics(stats -> stats.skipped(0).aborted(0).failed(0));
+		results.allEvents().assertEventsMatchLooselyInOrder( //
+			event(testClass(TwoMethodsTestCase.class), started()), //
+			event(test("method:one()"), finishedSuccessfully()), //
+			event(test("method:two()"), finishedSuccessfully()), //
+			event(testClass(TwoMethodsTestCase.class), finishedSuccessfully()), //
+			event(testClass(DataProviderMethodTestCase.class), started()), //
+			event(testClass(DataProviderMethodTestCase.class), finishedSuccessfully()));
+	}
+
+	@Test
+	void keepsTestClassesLinkedByDependenciesInTheSameBatch() {
+		SuiteCountingListener.startedSuites = 0;
+
+		var results = testNGEngine() //
+				.selectors(selectClass(GroupDependentTestCase.class), selectClass(TwoMethodsTestCase.class),
+					selectClass(GroupProducingTestCase.class), selectClass(MethodDependentTestCase.class)) //
+				.configurationParameter("testng.execution.batchSize", "1") //
+				.configurationParameter("testng.listeners", SuiteCountingListener.class.getName()) //
+				.execute();
+
+		assertThat(SuiteCountingListener.startedSuites).isEqualTo(2);
+		results.testEvents().assertStatistics(stats -> stats.started(5).succeeded(5).skipped(0));
+	}
+
+	@Test
+	void keepsTestClassesLinkedByGroupConfigurationMethodsInTheSameBatch() {
+		GroupConfiguringTestCase.configured = false;
+		SuiteCountingListener.startedSuites = 0;
+
+		var results = testNGEngine() //
+				.selectors(selectClass(GroupConfiguredTestCase.class), selectClass(TwoMethodsTestCase.class),
+					selectClass(GroupConfiguringTestCase.class)) //
+				.configurationParameter("testng.execution.batchSize", "1") //
+				.configurationParameter("testng.listeners", SuiteCountingListener.class.getName()) //
+				.execute();
+
+		assertThat(SuiteCountingListener.startedSuites).isEqualTo(2);
+		results.testEvents().assertStatistics(stats -> stats.started(4).succeeded(4));
+	}
+
+	@Test
+	void doesNotSplitTestClassesIntoBatchesIfAnyDeclaresSuiteLevelConfigurationMethods() {
+		SuiteCountingListener.startedSuites = 0;
+
+		var results = testNGEngine() //
+				.selectors(selectClass(TwoMethodsTestCase.class), selectClass(SuiteConfiguringTestCase.class)) //
+				.configurationParameter("testng.execution.batchSize", "1") //
+				.configurationParameter("testng.listeners", SuiteCountingListener.class.getName()) //
+				.execute();
+
+		assertThat(SuiteCountingListener.startedSuites).isEqualTo(1);
+		results.testEvents().assertStatistics(stats -> stats.started(3).succeeded(3));
+	}
+
+	@ParameterizedTest(name = "deferred = {0}")
+	@ValueSource(booleans = { false, true })
+	@RequiresTestNGVersion(min = "7.5") // ITestObjectFactory.newInstance() was introduced in 7.5
+	void constructsTestClassesInAdvanceInParallel(boolean deferred) {
+		ConstructionTrackingTestCase.EVENTS.clear();
+
+		var results = testNGEngine() //
+				.selectors(selectClass(FirstConstructionTrackingTestCase.class),
+					selectClass(SecondConstructionTrackingTestCase.class)) //
+				.configurationParameter("testng.execution.batchSize", "1") //
+				.configurationParameter(ParallelInstantiation.PARALLELISM_PARAMETER, "2") //
+				.configurationParameter(ParallelInstantiation.DEFERRED_PARAMETER, String.valueOf(deferred)) //
+				.execute();
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(2));
+		// discovery constructs every class once on the calling thread
+		assertThat(ConstructionTrackingTestCase.EVENTS.subList(2, ConstructionTrackingTestCase.EVENTS.size())) //
+				.hasSize(4) //
+				.filteredOn(event -> event.startsWith("constructed")) //
+				.allMatch(event -> event.contains(" on testng-engine-instantiation-"));
+		if (deferred) {
+			assertThat(ConstructionTrackingTestCase.EVENTS) //
+					.containsSubsequence("tested FirstConstructionTrackingTestCase",
+						"constructed SecondConstructionTrackingTestCase on testng-engine-instantiation-2");
+		}
+		assertThat(results.containerEvents().reportingEntryPublished().stream() //
+				.filter(event -> event.getTestDescriptor() instanceof ClassDescriptor) //
+				.map(event -> event.getRequiredPayload(ReportEntry.class).getKeyValuePairs().keySet())) //
+						.containsExactly(Set.of(ParallelInstantiation.CONSTRUCTION_MILLIS_KEY),
+							Set.of(ParallelInstantiation.CONSTRUCTION_MILLIS_KEY));
+	}
+
+	@Test
+	@RequiresTestNGVersion(min = "7.5") // ITestObjectFactory.newInstance() was introduced in 7.5
+	void constructsTestClassesAtMostTwoBatchesAhead() {
+		ConstructionTrackingTestCase.EVENTS.clear();
+
+		var results = testNGEngine() //
+				.selectors(selectClass(FirstConstructionTrackingTestCase.class),
+					selectClass(SecondConstructionTrackingTestCase.class),
+					selectClass(ThirdConstructionTrackingTestCase.class),
+					selectClass(FourthConstructionTrackingTestCase.class)) //
+				.configurationParameter("testng.execution.batchSize", "1") //
+				.configurationParameter(ParallelInstantiation.PARALLELISM_PARAMETER, "2") //
+				.execute();
+
+		results.testEvents().assertStatistics(stats -> stats.succeeded(4));
+		var events = List.copyOf(ConstructionTrackingTestCase.EVENTS);
+		var fourthConstructedInAdvance = events.stream() //
+				.filter(event -> event.startsWith(
+					"constructed FourthConstructionTrackingTestCase on testng-engine-instantiation-")) //
+				.findFirst().orElseThrow();
+		assertThat(events.indexOf(fourthConstructedInAdvance)) //
+				.isGreaterThan(events.indexOf("tested FirstConstructionTrackingTestCase"));
+	}
+
+	@Test
+	@RequiresTestNGVersion(min = "7.5") // ITestObjectFactory.newInstance() was introduced in 7.5
+	void reportsFailuresOfConstructorsCalledInAdvanceWithoutCallingThemAgain() {
+		ConstructionTrackingTestCase.EVENTS.clear();
+
+		var results = testNGEngine() //
+				.selectors(selectClass(FailingConstructionTrackingTestCase.class)) //
+				.configurationParameter(ParallelInstantiation.PARALLELISM_PARAMETER, "2") //
+				.execute();
+
+		var engineFailure = results.allEvents().finished().filter(event -> event.getTestDescriptor().isRoot()) //
+				.map(event -> event.getRequiredPayload(TestExecutionResult.class).getThrowable().orElseThrow()) //
+				.findFirst().orElseThrow();
+		assertThat(engineFailure).rootCause() //
+				.isInstanceOf(IllegalStateException.class) //
+				.hasMessage("constructed in advance");
+		// discovery constructs every class once on the calling thread
+		assertThat(ConstructionTrackingTestCase.EVENTS) //
+				.hasSize(2) //
+				.endsWith("constructed FailingConstructionTrackingTestCase on testng-engine-instantiation-1");
+	}
+
+	@Test
+	void skipsRemainingBatchesAfterCancellation() {
+		CancellingTestCase.cancellationToken = CancellationToken.create();
+		try {
+			var results = testNGEngine() //
+					.selectors(selectClass(CancellingTestCase.class), selectClass(PostCancellationTestCase.class)) //
+					.configurationParameter("testng.execution.batchSize", "1") //
+					.cancellationToken(CancellingTestCase.cancellationToken) //
+					.execute();
+
+			results.containerEvents().assertEventsMatchExactly( //
+				event(engine(), started()), //
+				event(testClass(CancellingTestCase.class), started()), //
+				event(testClass(CancellingTestCase.class), finishedSuccessfully()), //
+				event(testClass(PostCancellationTestCase.class), skippedWithReason("Execution cancelled")), //
+				event(engine(), type(REPORTING_ENTRY_PUBLISHED)), //
+				event(engine(), abortedWithReason(instanceOf(SkipException.class), message("Execution cancelled"))));
+		}
+		finally {
+			CancellingTestCase.cancellationToken = null;
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { Watchdog.IDLE_TIMEOUT_PARAMETER, Watchdog.CLASS_TIMEOUT_PARAMETER })
+	void watchdogWritesThreadDumpAndCancelsHungExecution(String timeoutParameter) throws Exception {
+		var results = testNGEngine() //
+				.selectors(selectClass(HangingTestCase.class)) //
+				.configurationParameter(timeoutParameter, "200") //
+				.configurationParameter(Watchdog.CANCEL_PARAMETER, "true") //
+				.configurationParameter(Cancellation.INTERRUPT_AFTER_PARAMETER, "0") //
+				.execute();
+
+		results.allEvents().assertEventsMatchLooselyInOrder( //
+			event(test("method:hang()"), abortedWithReason(instanceOf(InterruptedException.class))), //
+			event(engine(), abortedWithReason(instanceOf(SkipException.class), message("Execution cancelled"))));
+		try (var files = Files.list(tempDir)) {
+			assertThat(files.filter(it -> it.getFileName().toString().startsWith(Watchdog.DUMP_FILE_PREFIX))) //
+					.singleElement() //
+					.satisfies(file -> assertThat(file).content() //
+							.contains("[class:" + HangingTestCase.class.getName() + "]/[method:hang()] (running for") //
+							.contains("No deadlocked threads") //
+							.contains(HangingTestCase.class.getName() + ".hang(HangingTestCase.java"));
+		}
+	}
+
+
+	@Test
+	void invokesSimpleTestMethodsDirectlyWithTheSameResultsAsTestNG() {
+		var viaTestNG = testNGEngine() //
+				.selectors(selectClass(DirectlyInvocableTestCase.class), selectClass(SimpleTestCase.class)) //
+				.execute();
+		var direct = testNGEngine() //
+				.selectors(selectClass(DirectlyInvocableTestCase.class), selectClass(SimpleTestCase.class)) //
+				.configurationParameter(DirectInvocation.ENABLED_PARAMETER, "true") //
+				.execute();
+
+		assertThat(summarize(direct)).containsExactlyInAnyOrderElementsOf(summarize(viaTestNG));
+		direct.allEvents().assertEventsMatchLooselyInOrder( //
+			event(testClass(DirectlyInvocableTestCase.class), started()), //
+			event(testClass(DirectlyInvocableTestCase.class), finishedSuccessfully()), //
+			event(testClass(SimpleTestCase.class), started()));
+		assertThat(direct.testEvents().failed().stream() //
+				.filter(event -> event.getTestDescriptor().getUniqueId().toString().contains("method:failing()")) //
+				.map(event -> event.getRequiredPayload(TestExecutionResult.class).getThrowable().orElseThrow()) //
+				.flatMap(throwable -> Arrays.stream(throwable.getStackTrace())) //
+				.map(StackTraceElement::getClassName)) //
+						.isNotEmpty() //
+						.noneMatch(className -> className.startsWith("org.testng.internal."));
+	}
+
+	@Test
+	void invokesTestMethodsViaGeneratedInvokersWithTheSameResultsAsReflection() {
+		var viaReflection = testNGEngine() //
+				.selectors(selectClass(GeneratedInvokersTestCase.class)) //
+				.configurationParameter("testng.allowReturnValues", "true") //
+				.execute();
+		var viaGeneratedInvokers = testNGEngine() //
+				.selectors(selectClass(GeneratedInvokersTestCase.class)) //
+				.configurationParameter("testng.allowReturnValues", "true") //
+				.configurationParameter(GeneratedInvokers.ENABLED_PARAMETER, "true") //
+				.execute();
+
+		assertThat(summarize(viaGeneratedInvokers)).containsExactlyInAnyOrderElementsOf(summarize(viaReflection));
+		viaGeneratedInvokers.testEvents().assertStatistics(stats -> stats.succeeded(5).failed(4).aborted(1));
+		assertThat(viaGeneratedInvokers.testEvents().failed().stream() //
+				.map(event -> event.getRequiredPayload(TestExecutionResult.class).getThrowable().orElseThrow()) //
+				.flatMap(throwable -> Arrays.stream(throwable.getStackTrace())) //
+				.map(StackTraceElement::getClassName)) //
+						.contains(GeneratedInvokersTestCase.class.getName()) //
+						.noneMatch(className -> className.startsWith("jdk.internal.reflect.")
+								|| className.startsWith("org.testng.internal.invokers.MethodInvocationHelper"));
+	}
+
+	private static List<String> summarize(EngineExecutionResults results) {
+		Function<Event, String> result = event -> event.getPayload(TestExecutionResult.class) //
+				.map(it -> it.getStatus() + " " + it.getThrowable() //
+						.map(throwable -> throwable.getClass().getName() + ": "
+								+ String.valueOf(throwable.getMessage()).replaceAll("@\\p{XDigit}+", "@")) //
+						.orElse("")) //
+				.orElse(event.getPayload(ReportEntry.class).map(it -> it.getKeyValuePairs().toString()).orElse(""));
+		return results.allEvents().stream() //
+				.map(event -> event.getType() + " " + event.getTestDescriptor().getUniqueId() + " "
+						+ result.apply(event)) //
+				.collect(toList());
+	}
+
 }
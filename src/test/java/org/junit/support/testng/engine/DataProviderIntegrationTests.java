@@ -39,7 +39,9 @@ import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
 import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.testkit.engine.EventType;
 
 class DataProviderIntegrationTests extends AbstractIntegrationTests {
 
@@ -247,4 +249,127 @@ class DataProviderIntegrationTests extends AbstractIntegrationTests {
 		results.testEvents().assertStatistics(
 			stats -> stats.dynamicallyRegistered(11).started(11).succeeded(11).finished(11));
 	}
+
+	@Test
+	void prunesFinishedInvocationsWhenEnabled() {
+		var testClass = ParallelDataProviderTestCase.class;
+
+		var results = testNGEngine() //
+				.selectors(selectClass(testClass)) //
+				.configurationParameter("testng.invocations.pruneFinished", "true") //
+				.execute();
+
+		results.testEvents().assertStatistics(
+			stats -> stats.dynamicallyRegistered(11).started(11).succeeded(11).finished(11));
+		var methodDescriptor = results.containerEvents() //
+				.filter(event -> event.getTestDescriptor().getUniqueId().toString().contains(
+					"method:test(java.lang.Integer)")) //
+				.findFirst().orElseThrow().getTestDescriptor();
+		assertThat(methodDescriptor.getChildren()).isEmpty();
+	}
+
+	@Test
+	void reportsEventsAsynchronouslyInOrderWhenEnabled() {
+		var testClass = ParallelDataProviderTestCase.class;
+
+		var results = testNGEngine() //
+				.selectors(selectClass(testClass)) //
+				.configurationParameter("testng.reporting.async.enabled", "true") //
+				.configurationParameter("testng.reporting.async.bufferSize", "2") //
+				.configurationParameter("testng.invocations.pruneFinished", "true") //
+				.execute();
+
+		results.allEvents().assertStatistics(stats -> stats.dynamicallyRegistered(11).started(14).finished(14));
+		results.testEvents().assertStatistics(stats -> stats.succeeded(11));
+		var events = results.allEvents().list();
+		for (int i = 0; i < events.size(); i++) {
+			var event = events.get(i);
+			var descriptor = event.getTestDescriptor();
+			var precedingEvents = events.subList(0, i).stream().filter(it -> it.getTestDescriptor() == descriptor);
+			if (event.getType() == EventType.STARTED) {
+				assertThat(precedingEvents).noneMatch(it -> it.getType() == EventType.FINISHED);
+			}
+			else if (event.getType() == EventType.FINISHED) {
+				assertThat(precedingEvents).anyMatch(it -> it.getType() == EventType.STARTED);
+				var parent = descriptor.getParent().orElse(null);
+				assertThat(events.subList(0, i)) //
+						.noneMatch(it -> it.getTestDescriptor() == parent && it.getType() == EventType.FINISHED);
+			}
+		}
+	}
+
+	@Test
+	void reportsInvocationsInAggregateWhenEnabled() {
+		var testClass = ParallelDataProviderTestCase.class;
+
+		var results = testNGEngine() //
+				.selectors(selectClass(testClass)) //
+				.configurationParameter("testng.invocations.reporting", "aggregate") //
+				.execute();
+
+		results.testEvents().assertStatistics(
+			stats -> stats.dynamicallyRegistered(0).started(1).succeeded(1).finished(1));
+		var summary = results.allEvents().reportingEntryPublished() //
+				.map(event -> event.getRequiredPayload(ReportEntry.class).getKeyValuePairs()) //
+				.findFirst().orElseThrow();
+		assertThat(summary) //
+				.containsEntry("invocations", "11") //
+				.containsEntry("successful", "11") //
+				.containsEntry("failed", "0") //
+				.containsKeys("totalDurationMillis", "minDurationMillis", "maxDurationMillis", "meanDurationMillis") //
+				.doesNotContainKey("failedInvocations");
+	}
+
+	@Test
+	void registersOnlyFailingInvocationsInAggregateMode() {
+		var results = testNGEngine() //
+				.selectors(selectClass(DataProviderMethodTestCase.class)) //
+				.configurationParameter("testng.invocations.reporting", "aggregate") //
+				.execute();
+
+		results.allEvents().assertEventsMatchLooselyInOrder( //
+			event(test("method:test(java.lang.String)"), started()), //
+			event(uniqueIdSubstring("method:test(java.lang.String)"), dynamicTestRegistered("invoc:0"),
+				displayName("[0] a")), //
+			event(uniqueIdSubstring("method:test(java.lang.String)"), test("invoc:0"),
+				finishedWithFailure(message("a"))), //
+			event(uniqueIdSubstring("method:test(java.lang.String)"), dynamicTestRegistered("invoc:1"),
+				displayName("[1] b")), //
+			event(uniqueIdSubstring("method:test(java.lang.String)"), test("invoc:1"),
+				finishedWithFailure(message("b"))), //
+			event(test("method:test(java.lang.String)"), finishedSuccessfully()));
+		var summary = results.allEvents().reportingEntryPublished() //
+				.filter(event -> event.getTestDescriptor().getUniqueId().toString().contains(
+					"method:test(java.lang.String)")) //
+				.map(event -> event.getRequiredPayload(ReportEntry.class).getKeyValuePairs()) //
+				.findFirst().orElseThrow();
+		assertThat(summary) //
+				.containsEntry("invocations", "2") //
+				.containsEntry("failed", "2") //
+				.containsEntry("failedInvocations", "0, 1");
+	}
+
+	@Test
+	void truncatesParameterValuesInDisplayNames() {
+		var results = testNGEngine() //
+				.selectors(selectClass(LargeParametersDataProviderTestCase.class)) //
+				.configurationParameter("testng.displayName.maxLength", "20") //
+				.execute();
+
+		results.testEvents().assertEventsMatchLooselyInOrder( //
+			event(test("invoc:0"), displayName("[0] [0, 0, 0, 0, 0, 0, 0…"), started()), //
+			event(test("invoc:1"), displayName("[1] [1, 2], [de_DE]"), started()));
+	}
+
+	@Test
+	void formatsParameterValuesWithCustomFormatter() {
+		var results = testNGEngine() //
+				.selectors(selectClass(LargeParametersDataProviderTestCase.class)) //
+				.configurationParameter("testng.displayName.parameterFormatter",
+					UpperCaseParameterFormatter.class.getName()) //
+				.execute();
+
+		results.testEvents().assertThatEvents() //
+				.haveExactly(1, event(test("invoc:1"), displayName("[1] [1, 2], [DE_DE]"), started()));
+	}
 }
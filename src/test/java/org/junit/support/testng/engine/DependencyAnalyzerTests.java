@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import example.configuration.parameters.ConstructionTrackingTestCase;
+import example.configuration.parameters.FirstConstructionTrackingTestCase;
+import example.configuration.parameters.SecondConstructionTrackingTestCase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DependencyAnalyzerTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void digestChangesWhenArchiveContainingDependencyChanges() throws Exception {
+		var classesDirectory = tempDir.resolve("classes");
+		var archive = tempDir.resolve("dependency.jar");
+		writeClassFile(classesDirectory, FirstConstructionTrackingTestCase.class);
+		writeArchive(archive, ConstructionTrackingTestCase.class);
+
+		try (var classLoader = newClassLoader(classesDirectory, archive)) {
+			var testClass = classLoader.loadClass(FirstConstructionTrackingTestCase.class.getName());
+
+			var dependencies = new DependencyAnalyzer().dependencies(testClass);
+			var digest = new DependencyAnalyzer().digest(testClass, dependencies);
+
+			assertThat(dependencies) //
+					.hasSize(2) //
+					.contains(FirstConstructionTrackingTestCase.class.getName()) //
+					.anyMatch(it -> it.startsWith(DependencyAnalyzer.ARCHIVE_PREFIX) && it.endsWith("/dependency.jar"));
+			assertThat(digest).isPresent().isEqualTo(new DependencyAnalyzer().digest(testClass, dependencies));
+
+			writeArchive(archive, ConstructionTrackingTestCase.class, SecondConstructionTrackingTestCase.class);
+
+			assertThat(new DependencyAnalyzer().digest(testClass, dependencies)).isPresent().isNotEqualTo(digest);
+		}
+	}
+
+	@Test
+	void digestChangesWhenArchiveContainingTestClassChanges() throws Exception {
+		var archive = tempDir.resolve("tests.jar");
+		writeArchive(archive, ConstructionTrackingTestCase.class, FirstConstructionTrackingTestCase.class);
+
+		try (var classLoader = newClassLoader(archive)) {
+			var testClass = classLoader.loadClass(FirstConstructionTrackingTestCase.class.getName());
+
+			var dependencies = new DependencyAnalyzer().dependencies(testClass);
+			var digest = new DependencyAnalyzer().digest(testClass, dependencies);
+
+			assertThat(dependencies).singleElement().asString().startsWith(DependencyAnalyzer.ARCHIVE_PREFIX);
+
+			writeArchive(archive, ConstructionTrackingTestCase.class, FirstConstructionTrackingTestCase.class,
+				SecondConstructionTrackingTestCase.class);
+
+			assertThat(new DependencyAnalyzer().digest(testClass, dependencies)).isPresent().isNotEqualTo(digest);
+		}
+	}
+
+	private static URLClassLoader newClassLoader(Path... roots) throws IOException {
+		var urls = new URL[roots.length];
+		for (int i = 0; i < roots.length; i++) {
+			urls[i] = roots[i].toUri().toURL();
+		}
+		// the platform class loader as parent prevents the classes from being loaded from the test class path
+		return new URLClassLoader(urls, ClassLoader.getPlatformClassLoader());
+	}
+
+	private static void writeClassFile(Path directory, Class<?> testClass) throws IOException {
+		var file = directory.resolve(resourceName(testClass));
+		Files.createDirectories(file.getParent());
+		try (var in = openClassFile(testClass)) {
+			Files.write(file, in.readAllBytes());
+		}
+	}
+
+	private static void writeArchive(Path archive, Class<?>... classes) throws IOException {
+		try (var out = new JarOutputStream(Files.newOutputStream(archive))) {
+			for (Class<?> testClass : classes) {
+				out.putNextEntry(new JarEntry(resourceName(testClass)));
+				try (var in = openClassFile(testClass)) {
+					in.transferTo(out);
+				}
+				out.closeEntry();
+			}
+		}
+	}
+
+	private static InputStream openClassFile(Class<?> testClass) {
+		return testClass.getClassLoader().getResourceAsStream(resourceName(testClass));
+	}
+
+	private static String resourceName(Class<?> testClass) {
+		return testClass.getName().replace('.', '/') + ".class";
+	}
+
+}
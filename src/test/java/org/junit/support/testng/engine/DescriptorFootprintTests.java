@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+
+import example.dataproviders.ManyInstancesTestCase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * Measures how much heap the discovered test descriptors retain per test method.
+ */
+class DescriptorFootprintTests {
+
+	private static final int METHOD_DESCRIPTORS = ManyInstancesTestCase.INSTANCES * ManyInstancesTestCase.METHODS;
+
+	@Test
+	void retainsLittleHeapPerMethodDescriptor(TestReporter testReporter) {
+		var request = request().selectors(selectClass(ManyInstancesTestCase.class)).build();
+		var engine = new TestNGTestEngine();
+		engine.discover(request, UniqueId.forEngine("testng"));
+
+		long before = usedHeapAfterGc();
+		TestDescriptor engineDescriptor = engine.discover(request, UniqueId.forEngine("testng"));
+		long after = usedHeapAfterGc();
+		long methodDescriptors = engineDescriptor.getDescendants().stream() //
+				.filter(MethodDescriptor.class::isInstance) //
+				.count();
+		Reference.reachabilityFence(engineDescriptor);
+
+		long bytesPerMethodDescriptor = (after - before) / METHOD_DESCRIPTORS;
+		testReporter.publishEntry("bytesPerMethodDescriptor", String.valueOf(bytesPerMethodDescriptor));
+		assertThat(methodDescriptors).isEqualTo(METHOD_DESCRIPTORS);
+		assertThat(bytesPerMethodDescriptor).isLessThan(640);
+	}
+
+	private static long usedHeapAfterGc() {
+		var memoryMXBean = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return memoryMXBean.getHeapMemoryUsage().getUsed();
+	}
+
+}
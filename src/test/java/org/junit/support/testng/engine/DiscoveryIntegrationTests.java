@@ -15,6 +15,7 @@ import static java.util.stream.Collectors.toMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.platform.commons.util.CollectionUtils.getOnlyElement;
 import static org.junit.platform.engine.TestDescriptor.Type.CONTAINER;
+import static org.junit.platform.engine.TestDescriptor.Type.CONTAINER_AND_TEST;
 import static org.junit.platform.engine.TestDescriptor.Type.TEST;
 import static org.junit.platform.engine.discovery.ClassNameFilter.includeClassNamePatterns;
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
@@ -276,6 +277,21 @@ class DiscoveryIntegrationTests extends AbstractIntegrationTests {
 		assertThat(methodDescriptor.mayRegisterTests()).isTrue();
 	}
 
+	@Test
+	void discoversTestMethodsWithMultipleInvocationsAsContainersAndTestsWhenAggregatingInvocations() {
+		var testClass = SuccessPercentageTestCase.class;
+		var request = request().selectors(selectClass(testClass)) //
+				.configurationParameter("testng.invocations.reporting", "aggregate") //
+				.build();
+
+		var rootDescriptor = testEngine.discover(request, engineId);
+
+		TestDescriptor classDescriptor = getOnlyElement(rootDescriptor.getChildren());
+		TestDescriptor methodDescriptor = getOnlyElement(classDescriptor.getChildren());
+		assertThat(methodDescriptor.getType()).isEqualTo(CONTAINER_AND_TEST);
+		assertThat(methodDescriptor.mayRegisterTests()).isTrue();
+	}
+
 	@Test
 	void ignoresIgnoredTests() {
 		var request = request().selectors(selectClass(IgnoredTestCase.class)).build();
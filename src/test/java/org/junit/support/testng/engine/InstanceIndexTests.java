@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import example.dataproviders.FactoryMethodTestCase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.UniqueId;
+import org.testng.ITestClass;
+import org.testng.TestNG;
+
+class InstanceIndexTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void buildsIndexOnlyOnceForAllInstancesOfFactoryClass() {
+		var engineDescriptor = (TestNGEngineDescriptor) new TestNGTestEngine().discover(
+			request().selectors(selectClass(FactoryMethodTestCase.class)).build(), UniqueId.forEngine("testng"));
+		var classDescriptor = engineDescriptor.findClassDescriptor(FactoryMethodTestCase.class);
+		var executionListener = new ExecutionListener(new EngineExecutionListener() {
+		}, Cancellation.UNSUPPORTED, FailureCompaction.DISABLED, engineDescriptor);
+		List<InstanceIndex> indicesSeenWhenStarted = new CopyOnWriteArrayList<>();
+
+		var testNG = new TestNG();
+		testNG.setUseDefaultListeners(false);
+		testNG.setOutputDirectory(tempDir.toString());
+		testNG.setTestClasses(new Class<?>[] { FactoryMethodTestCase.class });
+		testNG.addListener(executionListener);
+		testNG.addListener(new DefaultListener() {
+			@Override
+			public void onBeforeClass(ITestClass testClass) {
+				indicesSeenWhenStarted.add(classDescriptor.getInstanceIndex(testClass));
+			}
+		});
+		testNG.run();
+
+		assertThat(indicesSeenWhenStarted) //
+				.isNotEmpty() //
+				.allSatisfy(index -> assertThat(index).isSameAs(indicesSeenWhenStarted.get(0)));
+		assertThat(indicesSeenWhenStarted.get(0).size()).isEqualTo(2);
+	}
+
+}
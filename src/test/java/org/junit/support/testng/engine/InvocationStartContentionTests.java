@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+/**
+ * Compares how many invocation threads are held up while the first invocation reports the test method as started
+ * when they wait for a latch as opposed to handing their events off to an {@link InvocationEventQueue}.
+ */
+class InvocationStartContentionTests {
+
+	private static final int THREADS = 64;
+
+	private ExecutorService executorService;
+
+	@BeforeEach
+	void createThreads() {
+		executorService = Executors.newFixedThreadPool(THREADS);
+	}
+
+	@AfterEach
+	void shutDownThreads() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	void invocationThreadsDoNotWaitForMethodToBeReportedAsStarted() throws Exception {
+		var events = new ConcurrentLinkedQueue<String>();
+		var invocationEvents = new InvocationEventQueue();
+		var allInvocationsSubmitted = new CountDownLatch(THREADS - 1);
+
+		var methodStart = executorService.submit(() -> {
+			var submitted = allInvocationsSubmitted.await(10, SECONDS);
+			events.add("method started");
+			invocationEvents.open();
+			return submitted;
+		});
+		for (int i = 1; i < THREADS; i++) {
+			var invocation = "invocation " + i;
+			executorService.execute(() -> {
+				invocationEvents.execute(() -> events.add(invocation));
+				allInvocationsSubmitted.countDown();
+			});
+		}
+
+		assertThat(methodStart.get(20, SECONDS)).isTrue();
+		assertThat(events).hasSize(THREADS).first().isEqualTo("method started");
+	}
+
+	@Test
+	void blocksNoInvocationThreadsUnlikeLatch(TestReporter testReporter) throws Exception {
+		var latch = new CountDownLatch(1);
+		int blockedByLatch = countBlockedInvocationThreads(latch::countDown, invocation -> {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			invocation.run();
+		});
+		var invocationEvents = new InvocationEventQueue();
+		int blockedByQueue = countBlockedInvocationThreads(invocationEvents::open, invocationEvents::execute);
+
+		testReporter.publishEntry(Map.of( //
+			"threads", String.valueOf(THREADS), //
+			"blockedByLatch", String.valueOf(blockedByLatch), //
+			"blockedByQueue", String.valueOf(blockedByQueue)));
+		assertThat(blockedByLatch).isEqualTo(THREADS - 1);
+		assertThat(blockedByQueue).isZero();
+	}
+
+	/**
+	 * Start all but the first invocation thread and report the test method as started once each of them has either
+	 * submitted its start event and terminated or is parked.
+	 *
+	 * @return the number of invocation threads that were parked when the test method was reported as started
+	 */
+	private static int countBlockedInvocationThreads(Runnable reportMethodStarted,
+			Consumer<Runnable> submitInvocationStart) throws InterruptedException {
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 1; i < THREADS; i++) {
+			threads.add(new Thread(() -> submitInvocationStart.accept(() -> {
+			}), "invocation-" + i));
+		}
+		threads.forEach(Thread::start);
+		int blocked;
+		while (true) {
+			blocked = 0;
+			int terminated = 0;
+			for (Thread thread : threads) {
+				if (thread.getState() == Thread.State.TERMINATED) {
+					terminated++;
+				}
+				// only count threads parked by a synchronizer, not ones that wait for class initialization or the like
+				else if (thread.getState() == Thread.State.WAITING && LockSupport.getBlocker(thread) != null) {
+					blocked++;
+				}
+			}
+			if (blocked + terminated == threads.size()) {
+				break;
+			}
+			Thread.yield();
+		}
+		reportMethodStarted.run();
+		for (Thread thread : threads) {
+			thread.join(SECONDS.toMillis(10));
+			assertThat(thread.isAlive()).isFalse();
+		}
+		return blocked;
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.testng.ITestResult;
+
+class InvocationTableTests {
+
+	@Test
+	void findsInvocationsByResultIdentityAcrossResizesAndRemovals() {
+		var table = new InvocationTable();
+		List<ITestResult> results = new ArrayList<>();
+		IntStream.range(0, 1000).forEach(i -> {
+			var result = newResult();
+			results.add(result);
+			table.put(result, i, null);
+		});
+
+		for (int i = 0; i < results.size(); i += 2) {
+			table.removeAt(table.find(results.get(i)));
+		}
+
+		for (int i = 0; i < results.size(); i++) {
+			int slot = table.find(results.get(i));
+			if (i % 2 == 0) {
+				assertThat(slot).isEqualTo(-1);
+			}
+			else {
+				assertThat(slot).isNotNegative();
+				assertThat(table.invocationIndexAt(slot)).isEqualTo(i);
+			}
+		}
+		assertThat(table.find(newResult())).isEqualTo(-1);
+	}
+
+	private static ITestResult newResult() {
+		return (ITestResult) Proxy.newProxyInstance(ITestResult.class.getClassLoader(),
+			new Class<?>[] { ITestResult.class }, (proxy, method, args) -> {
+				throw new UnsupportedOperationException(method.getName());
+			});
+	}
+
+}
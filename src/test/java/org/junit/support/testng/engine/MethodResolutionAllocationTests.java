@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.sun.management.ThreadMXBean;
+
+import example.basics.TwoMethodsTestCase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.UniqueId;
+import org.testng.ITestClass;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+
+class MethodResolutionAllocationTests {
+
+	private static final int ITERATIONS = 100_000;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void resolvesMethodDescriptorsWithoutAllocatingAfterFirstLookup() {
+		ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+		var result = runAndCaptureResult();
+		var engineDescriptor = (TestNGEngineDescriptor) new TestNGTestEngine().discover(
+			request().selectors(selectClass(TwoMethodsTestCase.class)).build(), UniqueId.forEngine("testng"));
+		var listener = new ExecutionListener(new EngineExecutionListener() {
+		}, Cancellation.UNSUPPORTED, FailureCompaction.DISABLED, engineDescriptor);
+		listener.onBeforeClass((ITestClass) result.getTestClass());
+
+		var methodDescriptor = listener.findOrCreateMethodDescriptor(result);
+		assertThat(methodDescriptor.getUniqueId().getLastSegment().getValue()).startsWith(result.getName());
+
+		long threadId = Thread.currentThread().getId();
+		for (int i = 0; i < ITERATIONS; i++) {
+			assertThat(listener.findOrCreateMethodDescriptor(result)).isSameAs(methodDescriptor);
+		}
+		long baseline = allocatedBytes(threadMXBean, threadId, () -> {
+		});
+		long allocated = allocatedBytes(threadMXBean, threadId, () -> {
+			for (int i = 0; i < ITERATIONS; i++) {
+				if (listener.findOrCreateMethodDescriptor(result) != methodDescriptor) {
+					throw new AssertionError("Resolved different descriptor");
+				}
+			}
+		});
+
+		assertThat(allocated - baseline).isLessThan(ITERATIONS);
+	}
+
+	private ITestResult runAndCaptureResult() {
+		var capturedResult = new AtomicReference<ITestResult>();
+		var testNG = new TestNG();
+		testNG.setUseDefaultListeners(false);
+		testNG.setOutputDirectory(tempDir.toString());
+		testNG.setTestClasses(new Class<?>[] { TwoMethodsTestCase.class });
+		testNG.addListener(new DefaultListener() {
+			@Override
+			public void onTestSuccess(ITestResult result) {
+				capturedResult.compareAndSet(null, result);
+			}
+		});
+		testNG.run();
+		return capturedResult.get();
+	}
+
+	private static long allocatedBytes(ThreadMXBean threadMXBean, long threadId, Runnable action) {
+		long before = threadMXBean.getThreadAllocatedBytes(threadId);
+		action.run();
+		return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+	}
+
+}
@@ -10,6 +10,9 @@
 
 package org.junit.support.testng.engine;
 
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.platform.commons.util.StringUtils.isBlank;
 import static org.junit.platform.engine.FilterResult.excluded;
 import static org.junit.platform.engine.FilterResult.includedIf;
@@ -26,40 +29,49 @@ import static org.junit.platform.testkit.engine.EventConditions.event;
 import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
 import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
 import static org.junit.platform.testkit.engine.EventConditions.reportEntry;
+import static org.junit.platform.testkit.engine.EventConditions.skippedWithReason;
 import static org.junit.platform.testkit.engine.EventConditions.started;
 import static org.junit.platform.testkit.engine.EventConditions.test;
+import static org.junit.platform.testkit.engine.EventConditions.type;
+import static org.junit.platform.testkit.engine.EventType.REPORTING_ENTRY_PUBLISHED;
 import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
 import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
-import static org.junit.support.testng.engine.TestContext.testNGVersion;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import example.basics.CancellingTestCase;
 import example.basics.CustomAttributeTestCase;
 import example.basics.ExpectedExceptionsTestCase;
 import example.basics.InheritingSubClassTestCase;
+import example.basics.LongRunningCancellingTestCase;
 import example.basics.NestedTestClass;
 import example.basics.ParallelExecutionTestCase;
 import example.basics.PostCancellationTestCase;
+import example.basics.RepeatedDeepFailureTestCase;
 import example.basics.RetriedTestCase;
 import example.basics.SimpleTestCase;
 import example.basics.SuccessPercentageTestCase;
 import example.basics.TimeoutTestCase;
 import example.configuration.methods.AbortedBeforeClassConfigurationMethodTestCase;
 import example.configuration.methods.FailingBeforeClassConfigurationMethodTestCase;
+import example.configuration.methods.FirstSharedFailureConfigurationMethodTestCase;
+import example.configuration.methods.SecondSharedFailureConfigurationMethodTestCase;
 import example.dataproviders.DataProviderMethodTestCase;
+import example.dataproviders.RepeatedFailureDataProviderTestCase;
 
-import org.apache.maven.artifact.versioning.ComparableVersion;
-import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.Filter;
+import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
 import org.junit.platform.engine.support.descriptor.MethodSource;
 import org.junit.platform.launcher.PostDiscoveryFilter;
-import org.junit.platform.testkit.engine.Event;
+import org.opentest4j.MultipleFailuresError;
 import org.testng.SkipException;
 import org.testng.internal.thread.ThreadTimeoutException;
 
@@ -352,30 +364,125 @@ class ReportingIntegrationTests extends AbstractIntegrationTests {
 				event(test("method"), started()), //
 				event(test("method"), finishedSuccessfully()), //
 				event(test("method"), started()), //
-				event(test("method"),
+				event(test("method"), //
 					abortedWithReason(instanceOf(SkipException.class), message("Execution cancelled"))), //
 				event(testClass(CancellingTestCase.class), finishedSuccessfully()), //
-				event(testClass(PostCancellationTestCase.class), started()), //
-				event(test("method:test"), started()), //
-				event(test("method:test"), expectedDownstreamTestReportedResultForPriorCancellation()), //
-				event(testClass(PostCancellationTestCase.class), finishedSuccessfully()), //
+				event(testClass(PostCancellationTestCase.class), skippedWithReason("Execution cancelled")), //
+				event(engine(), type(REPORTING_ENTRY_PUBLISHED)), //
 				event(engine(), abortedWithReason(instanceOf(SkipException.class), message("Execution cancelled"))));
+			assertThat(CancellingTestCase.cancellationThreadRunning).isFalse();
 		}
 		finally {
 			CancellingTestCase.cancellationToken = null;
 		}
 	}
 
-	private static Condition<Event> expectedDownstreamTestReportedResultForPriorCancellation() {
-		var currentVersion = testNGVersion();
-		if (currentVersion.compareTo(new ComparableVersion("7.0")) < 0) {
-			return abortedWithReason(
-				message(it -> it.contains("depends on not successfully finished methods in group \"cancellation\"")));
+	@Test
+	void interruptsRunningTestsAfterCancellation() {
+		LongRunningCancellingTestCase.cancellationToken = CancellationToken.create();
+		try {
+			var results = testNGEngine() //
+					.selectors(selectClass(LongRunningCancellingTestCase.class),
+						selectClass(PostCancellationTestCase.class)) //
+					.configurationParameter(Cancellation.INTERRUPT_AFTER_PARAMETER, "0") //
+					.cancellationToken(LongRunningCancellingTestCase.cancellationToken) //
+					.execute();
+
+			results.allEvents().assertThatEvents() //
+					.haveExactly(1,
+						event(test("method:sleep()"), abortedWithReason(instanceOf(InterruptedException.class)))) //
+					.haveExactly(1,
+						event(testClass(PostCancellationTestCase.class), skippedWithReason("Execution cancelled")));
+			assertThat(results.containerEvents().reportingEntryPublished().list()) //
+					.singleElement() //
+					.extracting(event -> event.getRequiredPayload(ReportEntry.class).getKeyValuePairs()) //
+					.satisfies(entry -> {
+						assertThat(entry).containsEntry("interruptedTests", "1");
+						assertThat(Long.parseLong(entry.get("cancellationLatencyMillis"))).isLessThan(5_000);
+					});
+		}
+		finally {
+			LongRunningCancellingTestCase.cancellationToken = null;
+		}
+	}
+
+
+	@Test
+	void compactsRepeatedFailures() {
+		var results = testNGEngine() //
+				.selectors(selectClass(RepeatedFailureDataProviderTestCase.class)) //
+				.configurationParameter(FailureCompaction.ENABLED_PARAMETER, "true") //
+				.execute();
+
+		var failures = results.testEvents().failed().stream() //
+				.map(event -> event.getRequiredPayload(TestExecutionResult.class).getThrowable().orElseThrow()) //
+				.collect(toList());
+		assertThat(failures).hasSize(RepeatedFailureDataProviderTestCase.ATTEMPTS);
+		var identicalFailures = failures.stream().filter(it -> it.getMessage().equals("Connection refused"));
+		assertThat(identicalFailures.distinct()).hasSize(1);
+		var similarFailures = failures.stream().filter(it -> !it.getMessage().equals("Connection refused"));
+		assertThat(similarFailures.distinct()).hasSize(RepeatedFailureDataProviderTestCase.ATTEMPTS / 2);
+		assertThat(failures).allSatisfy(
+			failure -> assertThat(failure.getStackTrace()[0].getMethodName()).isEqualTo("connect"));
+		assertThat(results.containerEvents().reportingEntryPublished().list()) //
+				.singleElement() //
+				.extracting(event -> event.getRequiredPayload(ReportEntry.class).getKeyValuePairs()) //
+				.isEqualTo(Map.of("distinctFailures", "51", "compactedFailures", "49"));
+	}
+
+	@Test
+	void doesNotCompactFailuresWithDifferentStackTraces() {
+		RepeatedDeepFailureTestCase.FAILURES.clear();
+
+		var results = testNGEngine() //
+				.selectors(selectClass(RepeatedDeepFailureTestCase.class)) //
+				.configurationParameter(FailureCompaction.ENABLED_PARAMETER, "true") //
+				.execute();
+
+		var failuresByMethodName = results.testEvents().failed().stream() //
+				.collect(toMap(event -> event.getTestDescriptor().getDisplayName(),
+					event -> event.getRequiredPayload(TestExecutionResult.class).getThrowable().orElseThrow()));
+		assertThat(failuresByMethodName).containsOnlyKeys("first", "second");
+		assertThat(failuresByMethodName.values()) //
+				.containsExactlyInAnyOrderElementsOf(RepeatedDeepFailureTestCase.FAILURES);
+		failuresByMethodName.forEach((methodName, failure) -> assertThat(failure.getStackTrace()).anyMatch(
+			frame -> frame.getClassName().equals(RepeatedDeepFailureTestCase.class.getName())
+					&& frame.getMethodName().equals(methodName)));
+	}
+
+	@Test
+	void doesNotModifySharedFailuresWhenChainingCompactedConfigurationFailures() {
+		var results = testNGEngine() //
+				.selectors(selectClass(FirstSharedFailureConfigurationMethodTestCase.class), //
+					selectClass(SecondSharedFailureConfigurationMethodTestCase.class)) //
+				.configurationParameter(FailureCompaction.ENABLED_PARAMETER, "true") //
+				.execute();
+
+		var classFailures = results.containerEvents().failed().stream() //
+				.collect(toMap(event -> event.getTestDescriptor().getDisplayName(), //
+					event -> messages(event.getRequiredPayload(TestExecutionResult.class).getThrowable().get())));
+		assertThat(classFailures).containsOnlyKeys("FirstSharedFailureConfigurationMethodTestCase",
+			"SecondSharedFailureConfigurationMethodTestCase");
+		classFailures.forEach((className, messages) -> assertThat(messages) //
+				.containsExactlyInAnyOrder("Connection refused", className + " not cleaned up"));
+		var sharedFailures = results.testEvents().aborted().stream() //
+				.map(event -> event.getRequiredPayload(TestExecutionResult.class).getThrowable().orElseThrow()) //
+				.collect(toList());
+		assertThat(sharedFailures).hasSize(2).allSatisfy(it -> {
+			assertThat(it).hasMessage("Connection refused");
+			assertThat(it.getSuppressed()).isEmpty();
+		});
+	}
+
+	private static List<String> messages(Throwable throwable) {
+		List<String> messages = new ArrayList<>();
+		if (!(throwable instanceof MultipleFailuresError)) {
+			messages.add(throwable.getMessage());
 		}
-		if (currentVersion.compareTo(new ComparableVersion("7.4")) < 0) {
-			return finishedSuccessfully();
+		for (Throwable suppressed : throwable.getSuppressed()) {
+			messages.addAll(messages(suppressed));
 		}
-		return abortedWithReason(instanceOf(SkipException.class), message("Execution cancelled"));
+		return messages;
 	}
 
 }
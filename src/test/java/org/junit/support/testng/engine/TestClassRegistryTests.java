@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.UniqueId;
+
+class TestClassRegistryTests {
+
+	private static final int THREADS = 32;
+	private static final int LIFECYCLES = 10_000;
+	private static final List<Class<?>> TEST_CLASSES = List.of(String.class, Integer.class, Long.class, Double.class,
+		Character.class, Boolean.class, Byte.class, Short.class);
+
+	@Test
+	void reportsEachTestClassAsStartedAndFinishedInTurnsUnderContention() throws Exception {
+		var registry = new TestClassRegistry();
+		var descriptors = new ConcurrentHashMap<Class<?>, ClassDescriptor>();
+		var active = new ConcurrentHashMap<Class<?>, AtomicBoolean>();
+		var starts = new ConcurrentHashMap<Class<?>, AtomicInteger>();
+		var finishes = new ConcurrentHashMap<Class<?>, AtomicInteger>();
+		var violations = new ConcurrentLinkedQueue<String>();
+		TEST_CLASSES.forEach(testClass -> {
+			descriptors.put(testClass, new ClassDescriptor(
+				UniqueId.forEngine("testng").append(ClassDescriptor.SEGMENT_TYPE, testClass.getName()), testClass,
+				emptySet()));
+			active.put(testClass, new AtomicBoolean());
+			starts.put(testClass, new AtomicInteger());
+			finishes.put(testClass, new AtomicInteger());
+		});
+
+		var ready = new CountDownLatch(THREADS);
+		List<Callable<Void>> lifecycles = new ArrayList<>();
+		for (int i = 0; i < LIFECYCLES; i++) {
+			var testClass = TEST_CLASSES.get(i % TEST_CLASSES.size());
+			lifecycles.add(() -> {
+				ready.countDown();
+				ready.await();
+				registry.start(testClass, __ -> {
+					if (!active.get(testClass).compareAndSet(false, true)) {
+						violations.add(testClass + " started while in progress");
+					}
+					starts.get(testClass).incrementAndGet();
+					return descriptors.get(testClass);
+				});
+				if (registry.get(testClass).orElse(null) != descriptors.get(testClass)) {
+					violations.add(testClass + " not registered while in progress");
+				}
+				registry.finish(testClass, __ -> true, __ -> {
+					if (!active.get(testClass).compareAndSet(true, false)) {
+						violations.add(testClass + " finished while not in progress");
+					}
+					finishes.get(testClass).incrementAndGet();
+				});
+				return null;
+			});
+		}
+
+		var executorService = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (Future<Void> future : executorService.invokeAll(lifecycles, 60, SECONDS)) {
+				future.get();
+			}
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+
+		assertThat(violations).isEmpty();
+		TEST_CLASSES.forEach(testClass -> {
+			assertThat(active.get(testClass)).isFalse();
+			assertThat(starts.get(testClass).get()).isPositive().isEqualTo(finishes.get(testClass).get());
+			assertThat(registry.get(testClass)).isEmpty();
+		});
+		assertThat(registry.getClassDescriptors()).containsExactlyInAnyOrderElementsOf(descriptors.values());
+	}
+
+	@Test
+	void finishesTestClassOnlyWhenNoLongerInProgressAndLast() {
+		var registry = new TestClassRegistry();
+		var descriptor = new ClassDescriptor(UniqueId.forEngine("testng").append(ClassDescriptor.SEGMENT_TYPE, "x"),
+			String.class, emptySet());
+		var finished = new AtomicInteger();
+		var remainingIterations = new AtomicInteger(2);
+		Predicate<ClassDescriptor> last = __ -> remainingIterations.decrementAndGet() == 0;
+		Consumer<ClassDescriptor> onLast = __ -> finished.incrementAndGet();
+
+		registry.start(String.class, __ -> descriptor);
+		registry.start(String.class, __ -> {
+			throw new AssertionError("should only be called once");
+		});
+		registry.finish(String.class, last, onLast);
+		assertThat(remainingIterations).hasValue(2);
+		registry.finish(String.class, last, onLast);
+		assertThat(remainingIterations).hasValue(1);
+		assertThat(finished).hasValue(0);
+		assertThat(registry.get(String.class)).containsSame(descriptor);
+
+		registry.start(String.class, __ -> {
+			throw new AssertionError("should only be called once");
+		});
+		registry.finish(String.class, last, onLast);
+		assertThat(finished).hasValue(1);
+		assertThat(registry.get(String.class)).isEmpty();
+		assertThat(registry.getClassDescriptors()).containsExactly(descriptor);
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.support.testng.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import example.basics.RepeatedTimeoutTestCase;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.internal.thread.ThreadTimeoutException;
+
+class VirtualThreadTimeoutsTests {
+
+	@TempDir
+	Path tempDir;
+
+	@ParameterizedTest(name = "generatedInvokers = {0}")
+	@ValueSource(booleans = { false, true })
+	@RequiresTestNGVersion(min = "7.0") // onTestFailedWithTimeout was introduced in 7.0
+	void enforcesTimeoutsOnThreadsOfSuppliedFactory(boolean generatedInvokers) throws Exception {
+		List<Thread> threads = new CopyOnWriteArrayList<>();
+		var successes = new AtomicInteger();
+		Map<String, Throwable> timeouts = new ConcurrentHashMap<>();
+
+		var testNG = new TestNG();
+		testNG.setUseDefaultListeners(false);
+		testNG.setOutputDirectory(tempDir.toString());
+		testNG.setTestClasses(new Class<?>[] { RepeatedTimeoutTestCase.class });
+		var virtualThreadTimeouts = new VirtualThreadTimeouts(runnable -> {
+			var thread = new Thread(runnable);
+			threads.add(thread);
+			return thread;
+		});
+		if (generatedInvokers) {
+			virtualThreadTimeouts.invokeVia(new GeneratedInvokers());
+		}
+		testNG.addListener(virtualThreadTimeouts);
+		testNG.addListener(new DefaultListener() {
+			@Override
+			public void onTestSuccess(ITestResult result) {
+				successes.incrementAndGet();
+			}
+
+			@Override
+			public void onTestFailedWithTimeout(ITestResult result) {
+				timeouts.put(result.getName(), result.getThrowable());
+			}
+		});
+		testNG.run();
+
+		assertThat(successes).hasValue(101);
+		assertThat(timeouts).containsOnlyKeys("timesOut");
+		assertThat(timeouts.get("timesOut")) //
+				.isInstanceOf(ThreadTimeoutException.class) //
+				.hasMessage("Method %s.timesOut() didn't finish within the time-out 50",
+					RepeatedTimeoutTestCase.class.getName());
+		assertThat(threads).hasSize(101);
+		for (var thread : threads) {
+			thread.join(5_000);
+			assertThat(thread.isAlive()).isFalse();
+		}
+	}
+}
@@ -17,9 +17,12 @@ import org.testng.annotations.Test;
 public class CancellingTestCase {
 
 	public static CancellationToken cancellationToken;
+	public static boolean cancellationThreadRunning;
 
 	@Test
 	public void first() {
+		cancellationThreadRunning = Thread.getAllStackTraces().keySet().stream() //
+				.anyMatch(thread -> thread.getName().equals("testng-engine-cancellation"));
 		cancellationToken.cancel();
 	}
 
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.basics;
+
+import static org.testng.Assert.fail;
+
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+public class DirectlyInvocableTestCase {
+
+	@Test(description = "a test that succeeds")
+	public void successful() {
+	}
+
+	@Test
+	public void aborted() {
+		throw new SkipException("not today");
+	}
+
+	@Test
+	public void failing() {
+		fail("boom");
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "expected.*")
+	public void expectedException() {
+		throw new IllegalStateException("expected failure");
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void missingExpectedException() {
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "expected.*")
+	public void wrongExpectedExceptionMessage() {
+		throw new IllegalStateException("unexpected failure");
+	}
+
+	@Test(enabled = false)
+	public void disabled() {
+		fail("should not be called");
+	}
+
+}
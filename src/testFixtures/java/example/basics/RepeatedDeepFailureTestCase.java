@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.basics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.testng.annotations.Test;
+
+public class RepeatedDeepFailureTestCase {
+
+	public static final List<Throwable> FAILURES = new CopyOnWriteArrayList<>();
+
+	@Test
+	public void first() {
+		connect(10);
+	}
+
+	@Test
+	public void second() {
+		connect(10);
+	}
+
+	private static void connect(int remainingAttempts) {
+		if (remainingAttempts == 0) {
+			IllegalStateException exception = new IllegalStateException("Connection refused");
+			FAILURES.add(exception);
+			throw exception;
+		}
+		connect(remainingAttempts - 1);
+	}
+}
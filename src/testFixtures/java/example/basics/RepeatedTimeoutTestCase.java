@@ -0,0 +1,29 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.basics;
+
+import org.testng.annotations.Test;
+
+public class RepeatedTimeoutTestCase {
+
+	@Test(timeOut = 10_000, invocationCount = 100)
+	public void completesInTime() {
+	}
+
+	@Test(timeOut = 50)
+	public void timesOut() throws Exception {
+		Thread.sleep(10_000);
+	}
+
+	@Test(timeOut = 10_000, invocationTimeOut = 10_000)
+	public void invocationTimeOut() {
+	}
+}
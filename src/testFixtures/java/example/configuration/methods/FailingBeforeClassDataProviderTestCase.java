@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.configuration.methods;
+
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class FailingBeforeClassDataProviderTestCase {
+
+	@BeforeClass
+	public void beforeClass() {
+		throw new AssertionError("boom");
+	}
+
+	@DataProvider
+	public Iterator<Object[]> numbers() {
+		return IntStream.range(0, 1_000).mapToObj(i -> new Object[] { i }).iterator();
+	}
+
+	@Test(dataProvider = "numbers")
+	public void first(int number) {
+		// never called
+	}
+
+	@Test(dataProvider = "numbers")
+	public void second(int number) {
+		// never called
+	}
+}
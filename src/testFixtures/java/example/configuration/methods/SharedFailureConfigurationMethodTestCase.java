@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.configuration.methods;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public abstract class SharedFailureConfigurationMethodTestCase {
+
+	@BeforeMethod
+	public void beforeMethod() {
+		throw new IllegalStateException("Connection refused");
+	}
+
+	@Test
+	public void test() {
+		// never called
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void afterMethod() {
+		throw new AssertionError(getClass().getSimpleName() + " not cleaned up");
+	}
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.configuration.parameters;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.testng.annotations.Test;
+
+public abstract class ConstructionTrackingTestCase {
+
+	public static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+
+	protected ConstructionTrackingTestCase() {
+		EVENTS.add("constructed " + getClass().getSimpleName() + " on " + Thread.currentThread().getName());
+	}
+
+	@Test
+	public void test() {
+		EVENTS.add("tested " + getClass().getSimpleName());
+	}
+}
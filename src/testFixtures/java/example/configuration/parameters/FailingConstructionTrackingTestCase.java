@@ -0,0 +1,20 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.configuration.parameters;
+
+public class FailingConstructionTrackingTestCase extends ConstructionTrackingTestCase {
+
+	public FailingConstructionTrackingTestCase() {
+		if (Thread.currentThread().getName().startsWith("testng-engine-instantiation-")) {
+			throw new IllegalStateException("constructed in advance");
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.configuration.parameters;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class GeneratedInvokersTestCase {
+
+	@DataProvider
+	public static Object[][] numbers() {
+		return new Object[][] { { 1, "1" }, { 2, "two" }, { 3, null } };
+	}
+
+	@DataProvider
+	public static Object[][] widened() {
+		return new Object[][] { { 1 } };
+	}
+
+	@Test(dataProvider = "numbers")
+	public void primitiveAndReference(int number, String text) {
+		assertEquals(text, String.valueOf(number));
+	}
+
+	@Test(dataProvider = "widened")
+	public void widening(long number) {
+		assertEquals(number, 1L);
+	}
+
+	@Test(dataProvider = "numbers")
+	public void nullArgument(Integer number, String text) {
+		assertNull(text);
+	}
+
+	@Test
+	public void skipped() {
+		throw new SkipException("not today");
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public String expectedException() {
+		throw new IllegalStateException("expected");
+	}
+
+	@Test
+	public static void staticMethod() {
+	}
+
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.dataproviders;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class LargeParametersDataProviderTestCase {
+
+	@DataProvider
+	public static Object[][] largeValues() {
+		return new Object[][] { //
+				{ new byte[10_000_000], List.of() }, //
+				{ new byte[] { 1, 2 }, List.of(Locale.GERMANY) } //
+		};
+	}
+
+	@Test(dataProvider = "largeValues")
+	public void test(byte[] bytes, List<?> values) {
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.dataproviders;
+
+import org.testng.ITestContext;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+public class ManyInstancesTestCase {
+
+	public static final int INSTANCES = 2_000;
+	public static final int METHODS = 8;
+
+	@Factory
+	public static Object[] instances() {
+		Object[] instances = new Object[INSTANCES];
+		for (int i = 0; i < INSTANCES; i++) {
+			instances[i] = new ManyInstancesTestCase();
+		}
+		return instances;
+	}
+
+	@Test(groups = { "unit", "fast" })
+	public void a(ITestContext context) {
+	}
+
+	@Test(groups = { "unit", "fast" })
+	public void b(ITestContext context) {
+	}
+
+	@Test(groups = { "unit", "fast" })
+	public void c(ITestContext context) {
+	}
+
+	@Test(groups = { "unit", "fast" })
+	public void d(ITestContext context) {
+	}
+
+	@Test(groups = "unit")
+	public void e() {
+	}
+
+	@Test(groups = "unit")
+	public void f() {
+	}
+
+	@Test(groups = "unit")
+	public void g() {
+	}
+
+	@Test(groups = "unit")
+	public void h() {
+	}
+}
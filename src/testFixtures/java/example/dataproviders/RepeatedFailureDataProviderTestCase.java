@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.dataproviders;
+
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class RepeatedFailureDataProviderTestCase {
+
+	public static final int ATTEMPTS = 100;
+
+	@DataProvider
+	public Iterator<Object[]> attempts() {
+		return IntStream.range(0, ATTEMPTS).mapToObj(i -> new Object[] { i }).iterator();
+	}
+
+	@Test(dataProvider = "attempts")
+	public void test(int attempt) {
+		connect(attempt % 2 == 0 ? "Connection refused" : "Connection refused after " + attempt + " attempts");
+	}
+
+	private static void connect(String message) {
+		throw new IllegalStateException(message);
+	}
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright 2021-2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+
+package example.dataproviders;
+
+import java.util.function.Function;
+
+public class UpperCaseParameterFormatter implements Function<Object, String> {
+
+	@Override
+	public String apply(Object value) {
+		return String.valueOf(value).toUpperCase();
+	}
+}